@@ -9,6 +9,19 @@ dependencies {
     compileOnly(libs.adventure.platform.api)
     compileOnly("org.spigotmc:spigot-api:1.19.2-R0.1-SNAPSHOT")
 //    compileOnly("org.spigotmc:spigot-api:26.2-R0.1-SNAPSHOT")
+
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.platform.launcher)
+    testImplementation(libs.adventure.api)
+    testImplementation(libs.adventure.text.serializer.legacy)
+    testImplementation(libs.adventure.text.serializer.gson)
+    testImplementation(libs.adventure.platform.api)
+    testImplementation("org.spigotmc:spigot-api:1.19.2-R0.1-SNAPSHOT")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 tasks.compileJava {
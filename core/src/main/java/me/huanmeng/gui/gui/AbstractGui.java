@@ -11,20 +11,27 @@ import me.huanmeng.gui.gui.interfaces.GuiBottomClick;
 import me.huanmeng.gui.gui.interfaces.GuiClick;
 import me.huanmeng.gui.gui.interfaces.GuiEmptyItemClick;
 import me.huanmeng.gui.gui.interfaces.GuiTick;
+import me.huanmeng.gui.gui.render.RenderFrame;
+import me.huanmeng.gui.gui.render.RenderShadow;
 import me.huanmeng.gui.gui.slot.Slot;
 import me.huanmeng.gui.gui.slot.Slots;
+import me.huanmeng.gui.scheduler.NextTickQueue;
 import me.huanmeng.gui.scheduler.Scheduler;
 import me.huanmeng.gui.scheduler.Schedulers;
 import me.huanmeng.gui.tick.TickManager;
+import me.huanmeng.gui.util.InventoryUtil;
+import me.huanmeng.gui.util.LocaleProvider;
 import me.huanmeng.gui.util.item.ItemUtil;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -32,6 +39,7 @@ import java.util.logging.Level;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.translation.GlobalTranslator;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
@@ -87,23 +95,29 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
     @NonNull
     protected Component title = Component.translatable("container.chest");
 
+    /**
+     * Slot-indexed storage backing the three button layers
+     */
+    @NonNull
+    protected ButtonTable buttonTable = new ButtonTable(this::startTick);
+
     /**
      * Default priority button set
      */
     @NonNull
-    protected Set<GuiButton> buttons = new HashSet<>(10);
+    protected Set<GuiButton> buttons = buttonTable.layer(ButtonTable.LAYER_DEFAULT);
 
     /**
      * Higher priority buttons than the default set (dynamically attached)
      */
     @NonNull
-    protected Set<GuiButton> attachedButtons = new HashSet<>(10);
+    protected Set<GuiButton> attachedButtons = buttonTable.layer(ButtonTable.LAYER_ATTACHED);
 
     /**
      * Highest priority buttons for internal modifications
      */
     @NonNull
-    protected Set<GuiButton> editButtons = new HashSet<>(10);
+    protected Set<GuiButton> editButtons = buttonTable.layer(ButtonTable.LAYER_EDIT);
 
     /**
      * Cached inventory instance
@@ -192,10 +206,15 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
     boolean closing = true;
 
     /**
-     * List of tick callbacks to execute periodically
+     * List of tick callbacks to execute periodically, only modified through {@link #addTick(Consumer)}
      */
     @NonNull
-    protected List<Consumer<G>> tickles = new ArrayList<>();
+    private List<Consumer<G>> tickles = new ArrayList<>();
+
+    /**
+     * Whether {@link #tickles} is shared with a copy and must be copied before modification
+     */
+    private boolean ticklesShared;
 
     /**
      * Interval in ticks between periodic updates (default: 100 ticks = 5 seconds)
@@ -207,6 +226,78 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
      */
     protected boolean tickRefresh = true;
 
+    /**
+     * Whether rendering only writes slots whose item differs from the last committed one
+     */
+    protected boolean diffRender = false;
+
+    /**
+     * The items last committed to the inventories, used when {@link #diffRender} is enabled
+     */
+    @NonNull
+    protected RenderShadow renderShadow = new RenderShadow();
+
+    /**
+     * The dynamic buttons resolved on the main thread by the last render, evaluated by the next async tick
+     */
+    @Nullable
+    private volatile RenderFrame asyncLayout;
+
+    /**
+     * Click limiter of this GUI, overriding the manager's limiter when set
+     */
+    @Nullable
+    protected ClickLimiter clickLimiter;
+
+    /**
+     * Top inventory slots waiting for the result of an asynchronous click
+     */
+    @NonNull
+    protected final BitSet pendingTop = new BitSet();
+
+    /**
+     * Player inventory slots waiting for the result of an asynchronous click
+     */
+    @NonNull
+    protected final BitSet pendingBottom = new BitSet();
+
+    /**
+     * Tail of the chain of asynchronous click results, keeping them applied in click order
+     */
+    @NonNull
+    protected CompletableFuture<Void> pendingClicks = CompletableFuture.completedFuture(null);
+
+    /**
+     * Ticks to wait for an asynchronous click result before applying {@link #asyncClickFallback}
+     */
+    protected long asyncClickTimeout = 100;
+
+    /**
+     * Set while the inventory is reopened to change its title, suppressing the close and open callbacks
+     */
+    protected boolean retitling;
+
+    /**
+     * Minimum ticks between two title changes of an open GUI, later changes are coalesced
+     */
+    protected long titleUpdateInterval = 0;
+
+    /**
+     * The time in milliseconds of the last applied title change
+     */
+    private long lastTitleUpdate;
+
+    /**
+     * The scheduled title change, if any
+     */
+    private Scheduler.@Nullable Task pendingTitleTask;
+
+    /**
+     * Result applied when an asynchronous click fails or times out
+     */
+    @NonNull
+    protected Result asyncClickFallback = Result.CANCEL_UPDATE;
+
     /**
      * Custom click handler for the GUI
      */
@@ -251,9 +342,14 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
             p -> Component.text("Unable to process your click request, please contact an administrator.", NamedTextColor.RED);
 
     /**
-     * Metadata storage for custom data associated with this GUI
+     * Metadata storage for custom data associated with this GUI, only accessed through {@link #metadata()}
+     */
+    private Map<String, Object> metadata = new HashMap<>(2);
+
+    /**
+     * Whether {@link #metadata} is shared with a copy and must be copied before modification
      */
-    protected Map<String, Object> metadata = new HashMap<>(2);
+    private boolean metadataShared;
 
     /**
      * The GuiManager instance managing this GUI
@@ -328,10 +424,33 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
      * This is an internal method called by {@link GuiManager} during the inventory open event.
      * </p>
      */
-    void onOpen() {
+    protected void onOpen() {
         close = false;
         closing = false;
-        if (schedulerTick() > 0) {
+        startTick();
+    }
+
+    /**
+     * Checks whether this GUI has anything to do on tick: a tickle to run, a dynamic button to refresh,
+     * or a slot whose button was changed since it was last rendered.
+     * A GUI made of {@link GuiButton#isStatic() static} buttons only does not schedule a tick task at all.
+     *
+     * @return true if a tick task is needed
+     */
+    protected boolean needsTick() {
+        if (!tickles.isEmpty()) {
+            return true;
+        }
+        return tickRefresh && (buttonTable.dynamicSlots(false).length > 0 || buttonTable.hasChanged(false)
+                || enablePlayerInventory && (buttonTable.dynamicSlots(true).length > 0 || buttonTable.hasChanged(true)));
+    }
+
+    /**
+     * Starts the tick task if this GUI is open, needs it and it is not running yet.
+     * Also called after every modification of the {@link #buttonTable}.
+     */
+    protected void startTick() {
+        if (tickTask == null && !close && schedulerTick() > 0 && needsTick()) {
             tickTask = TickManager.tick(this, scheduler(), schedulerTick());
         }
     }
@@ -346,6 +465,7 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
     @CanIgnoreReturnValue
     public G setTickRefresh(boolean tickRefresh) {
         this.tickRefresh = tickRefresh;
+        startTick();
         return self();
     }
 
@@ -357,9 +477,14 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
      * </p>
      */
     public void onClose() {
+        if (retitling) {
+            return;
+        }
         close = true;
+        asyncLayout = null;
         if (tickTask != null) {
             tickTask.stop();
+            tickTask = null;
         }
         if (whenClose != null) {
             try {
@@ -384,10 +509,10 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         if (processingClickEvent || !Bukkit.isPrimaryThread()) {
             // Delay the close method to the next tick when processing click events,
             // because by the next tick the current click event will have finished processing
-            Schedulers.sync().runLater(() -> {
+            NextTickQueue.submit(player.getUniqueId(), NextTickQueue.Kind.CLOSE, this, () -> {
                 closing = false;
                 close(openParent, force);
-            }, 1);
+            });
             return;
         }
         closing = false;
@@ -409,6 +534,15 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         }
     }
 
+    /**
+     * Checks whether this GUI is currently open for its player.
+     *
+     * @return true between the inventory open event and the close of this GUI
+     */
+    public boolean isOpened() {
+        return !close;
+    }
+
     /**
      * Closes this GUI without opening a parent GUI.
      * Equivalent to {@code close(false, false)}.
@@ -444,7 +578,12 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
     @NonNull
     @CanIgnoreReturnValue
     public G addTick(@NonNull Consumer<G> tickle) {
+        if (ticklesShared) {
+            tickles = new ArrayList<>(tickles);
+            ticklesShared = false;
+        }
         tickles.add(tickle);
+        startTick();
         return self();
     }
 
@@ -490,7 +629,226 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
             tickles.get(i).accept(self());
         }
         if (tickRefresh) {
-            refresh(false);
+            if (Bukkit.isPrimaryThread()) {
+                refreshDynamic();
+            } else {
+                renderAsync();
+            }
+        }
+    }
+
+    /**
+     * Refreshes the slots holding a dynamic button and the slots whose button changed since they were last
+     * rendered, skipping other slots with a {@link GuiButton#isStatic() static} button.
+     * This is what a tick refresh does on the main thread.
+     */
+    protected void refreshDynamic() {
+        if (cacheInventory == null) {
+            return;
+        }
+        renderShadow.resetSkipped();
+        prepareLayout();
+        Predicate<GuiButton> placeable = this::check;
+        fillItems(cacheInventory, false, placeable, null, diffRender, true);
+        if (enablePlayerInventory) {
+            fillItems(cacheInventory, true, placeable, null, diffRender, true);
+        }
+    }
+
+    /**
+     * Evaluates the dynamic buttons on the current thread and commits the result on the main thread.
+     * <p>
+     * Bukkit inventories must not be modified off the main thread, so an async tick only computes
+     * a {@link RenderFrame} here. The frame is then applied by {@link #commitFrame(RenderFrame)}
+     * in a single main-thread task. The buttons and their placement conditions are never read here:
+     * the tick evaluates the buttons the previous commit resolved on the main thread. If there is no
+     * such layout for the current inventory yet, this tick renders on the main thread instead.
+     * </p>
+     */
+    protected void renderAsync() {
+        Inventory inventory = cacheInventory;
+        if (inventory == null) {
+            return;
+        }
+        RenderFrame layout = asyncLayout;
+        if (layout == null || layout.inventory() != inventory) {
+            Schedulers.sync().run(() -> {
+                if (close || cacheInventory != inventory) {
+                    return;
+                }
+                refreshDynamic();
+                asyncLayout = resolveLayout(inventory);
+            });
+            return;
+        }
+        RenderFrame frame = computeFrame(layout);
+        Schedulers.sync().run(() -> commitFrame(frame));
+    }
+
+    /**
+     * Resolves the button shown in every dynamic slot, without evaluating their items.
+     * Must be called on the main thread.
+     *
+     * @param inventory The inventory the layout is resolved for
+     * @return A frame holding the resolved buttons and no items
+     */
+    @NonNull
+    protected RenderFrame resolveLayout(@NonNull Inventory inventory) {
+        Predicate<GuiButton> placeable = this::check;
+        GuiButton[] topButtons = resolveLayout(false, placeable);
+        GuiButton[] bottomButtons = enablePlayerInventory ? resolveLayout(true, placeable) : new GuiButton[0];
+        return new RenderFrame(inventory, topButtons, new ItemStack[topButtons.length],
+                bottomButtons, new ItemStack[bottomButtons.length]);
+    }
+
+    private GuiButton @NonNull [] resolveLayout(boolean playerInventory, @NonNull Predicate<GuiButton> placeable) {
+        GuiButton[] buttons = new GuiButton[buttonTable.limit(playerInventory)];
+        for (int i : buttonTable.dynamicSlots(playerInventory)) {
+            if (i >= buttons.length) {
+                break;
+            }
+            buttons[i] = buttonTable.find(playerInventory, i, placeable);
+        }
+        return buttons;
+    }
+
+    /**
+     * Evaluates the items of the buttons of a layout resolved by {@link #resolveLayout(Inventory)} into an
+     * immutable frame. Only {@link Button#getShowItem(Player)} of those buttons is called: neither the
+     * inventory nor the buttons of this GUI are read, so this may run off the main thread.
+     *
+     * @param layout The resolved layout
+     * @return The computed frame
+     */
+    @NonNull
+    protected RenderFrame computeFrame(@NonNull RenderFrame layout) {
+        int topLimit = layout.size(false);
+        GuiButton[] topButtons = new GuiButton[topLimit];
+        ItemStack[] topItems = new ItemStack[topLimit];
+        evaluate(layout, false, topButtons, topItems);
+        int bottomLimit = layout.size(true);
+        GuiButton[] bottomButtons = new GuiButton[bottomLimit];
+        ItemStack[] bottomItems = new ItemStack[bottomLimit];
+        evaluate(layout, true, bottomButtons, bottomItems);
+        return new RenderFrame(layout.inventory(), topButtons, topItems, bottomButtons, bottomItems);
+    }
+
+    private void evaluate(@NonNull RenderFrame layout, boolean playerInventory, GuiButton @NonNull [] buttons, ItemStack @NonNull [] items) {
+        for (int i = 0; i < buttons.length; i++) {
+            GuiButton guiButton = layout.button(playerInventory, i);
+            if (guiButton != null) {
+                buttons[i] = guiButton;
+                items[i] = guiButton.getButton().getShowItem(player);
+            }
+        }
+    }
+
+    /**
+     * Applies a frame computed by {@link #computeFrame(RenderFrame)}. Must be called on the main thread.
+     * <p>
+     * The layout is refreshed first; dynamic slots whose button changed since the frame was computed are
+     * evaluated again here. With {@link #diffRender} enabled, only slots whose item differs from the last
+     * committed one are written. The frame is dropped if the GUI was closed or reopened in the meantime.
+     * Afterwards the layout for the next async tick is resolved.
+     * </p>
+     *
+     * @param frame The frame to apply
+     */
+    protected void commitFrame(@NonNull RenderFrame frame) {
+        if (close || cacheInventory != frame.inventory()) {
+            return;
+        }
+        renderShadow.resetSkipped();
+        prepareLayout();
+        Predicate<GuiButton> placeable = this::check;
+        fillItems(cacheInventory, false, placeable, frame, diffRender, true);
+        if (enablePlayerInventory) {
+            fillItems(cacheInventory, true, placeable, frame, diffRender, true);
+        }
+        asyncLayout = resolveLayout(cacheInventory);
+    }
+
+    /**
+     * Takes over the open inventory of the player's current GUI instead of opening a new one, if possible.
+     * <p>
+     * Requires {@link GuiManager#inPlaceSwitch()}, a current GUI showing an inventory of the given type
+     * with the same size and title as this GUI, and neither GUI using the player inventory.
+     * The current GUI is closed, this GUI is bound to its inventory and adopts its render shadow,
+     * so only differing slots are written.
+     * </p>
+     *
+     * @param type the inventory type this GUI would build
+     * @return true if this GUI is now open in the taken over inventory
+     */
+    protected boolean switchInPlace(@NonNull InventoryType type) {
+        if (!manager.inPlaceSwitch() || enablePlayerInventory) {
+            return false;
+        }
+        AbstractGui<?> current = manager.getUserOpenGui(player.getUniqueId());
+        if (current == null || current == this || current.close || current.enablePlayerInventory) {
+            return false;
+        }
+        Inventory inventory = current.cacheInventory;
+        if (inventory == null || !(inventory.getHolder() instanceof GuiHolder)
+                || ((GuiHolder<?>) inventory.getHolder()).gui() != current
+                || inventory != player.getOpenInventory().getTopInventory()
+                || inventory.getType() != type || inventory.getSize() != size
+                || !Objects.equals(current.title, title)) {
+            return false;
+        }
+        current.onClose();
+        //noinspection unchecked,rawtypes
+        ((GuiHolder) inventory.getHolder()).gui(this);
+        renderShadow = current.renderShadow;
+        current.renderShadow = new RenderShadow();
+        cache(inventory);
+        Predicate<GuiButton> placeable = this::check;
+        for (int i = 0; i < size; i++) {
+            if (buttonTable.find(false, i, placeable) == null && inventory.getItem(i) != null) {
+                inventory.setItem(i, null);
+                renderShadow.invalidate(false, i);
+            }
+        }
+        refreshChanged();
+        onOpen();
+        return true;
+    }
+
+    /**
+     * Re-renders every slot, writing only the top inventory slots whose item changed regardless of
+     * {@link #diffRender}. With diff rendering the items are compared with the last committed ones,
+     * otherwise with the items the inventory currently holds. Player inventory slots are always rewritten,
+     * since the player inventory may have changed while this GUI was not shown.
+     * <p>
+     * Used when an inventory that kept its contents is shown again.
+     * </p>
+     */
+    protected void refreshChanged() {
+        renderShadow.resetSkipped();
+        prepareLayout();
+        forgetChanged();
+        Predicate<GuiButton> placeable = this::check;
+        if (diffRender) {
+            fillItems(cacheInventory, false, placeable, null, true, false);
+        } else {
+            // The shadow is not kept without diff rendering, compare with the contents the inventory kept instead
+            int limit = Math.min(cacheInventory.getSize(), buttonTable.limit(false));
+            for (int i = 0; i < limit; i++) {
+                GuiButton guiButton = buttonTable.find(false, i, placeable);
+                if (guiButton == null) {
+                    continue;
+                }
+                ItemStack itemStack = guiButton.getButton().getShowItem(player);
+                ItemStack current = cacheInventory.getItem(i);
+                if (ItemUtil.isAir(itemStack) ? ItemUtil.isAir(current) : itemStack.equals(current)) {
+                    renderShadow.skip();
+                    continue;
+                }
+                setItem(cacheInventory, guiButton, itemStack, false);
+            }
+        }
+        if (enablePlayerInventory) {
+            fillItems(cacheInventory, true, placeable, null, false, false);
         }
     }
 
@@ -526,7 +884,11 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
     @NonNull
     @CanIgnoreReturnValue
     protected G precache() {
-        manager.userNextOpenGui.put(player.getUniqueId(), this);
+        if (!player.isOnline()) {
+            // Opening was deferred past the player's quit, do not recreate the removed session
+            return self();
+        }
+        manager.session(player.getUniqueId()).pendingGui(this);
         return self();
     }
 
@@ -558,6 +920,21 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
     @CanIgnoreReturnValue
     public G refresh(boolean all) {
         fillItems(cacheInventory, all);
+        startTick();
+        return self();
+    }
+
+    /**
+     * Forgets every committed item, so the next render writes all slots again.
+     * <p>
+     * Call this after modifying the inventory directly while {@link #diffRender(boolean)} is enabled.
+     *
+     * @return This GUI instance for method chaining
+     */
+    @NonNull
+    @CanIgnoreReturnValue
+    public G invalidateRender() {
+        renderShadow.invalidate();
         return self();
     }
 
@@ -570,12 +947,12 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
     @NonNull
     @CanIgnoreReturnValue
     protected G unCache() {
-        AbstractGui<?> gui = manager.userNextOpenGui.get(player.getUniqueId());
-        if (gui == this) {
-            manager.removeUserOpenGui(player.getUniqueId());
+        GuiSession session = manager.getSession(player.getUniqueId());
+        if (session == null) {
+            return self();
         }
-        if (manager.getUserOpenGui(player.getUniqueId()) == this) {
-            manager.removeUserOpenGui(player.getUniqueId());
+        if (session.pendingGui() == this || session.openGui() == this) {
+            session.openGui(null);
         }
         return self();
     }
@@ -641,7 +1018,8 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
 
     /**
      * Gets the button at a specific inventory index with custom filtering.
-     * Searches in priority order: editButtons → buttons → attachedButtons.
+     * Searches top inventory slots before player inventory slots, each in priority order:
+     * editButtons → attachedButtons → buttons.
      *
      * @param index     The inventory slot index
      * @param predicate Filter predicate to apply when searching for buttons
@@ -649,26 +1027,11 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
      */
     @Nullable
     public GuiButton getButton(int index, Predicate<GuiButton> predicate) {
-        return editButtons
-                .stream()
-                .filter(predicate)
-                .filter(e -> e.getIndex() == index)
-                .findFirst()
-                .orElseGet(
-                        () -> buttons
-                                .stream()
-                                .filter(predicate)
-                                .filter(e -> e.getIndex() == index)
-                                .findFirst()
-                                .orElseGet(
-                                        () -> attachedButtons
-                                                .stream()
-                                                .filter(predicate)
-                                                .filter(e -> e.getIndex() == index)
-                                                .findFirst()
-                                                .orElse(null)
-                                )
-                );
+        GuiButton guiButton = buttonTable.find(false, index, predicate);
+        if (guiButton != null) {
+            return guiButton;
+        }
+        return buttonTable.find(true, index, predicate);
     }
 
     /**
@@ -688,7 +1051,7 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
      * @return The button at the slot, or null if none found
      */
     public GuiButton getButton(Slot slot) {
-        return getButton(slot.getIndex(), btn -> btn.isPlayerInventory() == slot.isPlayer());
+        return buttonTable.get(slot.isPlayer(), slot.getIndex());
     }
 
     /**
@@ -724,56 +1087,119 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
     /**
      * Fills the inventory with all buttons from the three priority sets.
      * <p>
-     * Buttons are applied in priority order:
-     * 1. Default buttons (lowest priority)
+     * Each slot is written once with its highest priority button:
+     * 1. Edit buttons (highest priority - overrides all others)
      * 2. Attached buttons (medium priority)
-     * 3. Edit buttons (highest priority - overrides all others)
+     * 3. Default buttons (lowest priority)
+     * A button that cannot be placed for the player leaves the slot to the layer below it.
      * </p>
      *
      * @param inventory The inventory to fill
      * @param all       Whether to clear the inventory before filling.
-     *                  If true, clears both the GUI inventory and player inventory (if enabled).
+     *                  If true, the whole contents of both the GUI inventory and player inventory (if enabled)
+     *                  are replaced through a single {@link me.huanmeng.gui.gui.interfaces.GuiHandler#onSetContents} call.
      * @return This GUI instance for method chaining
      */
     @NonNull
     @CanIgnoreReturnValue
     protected G fillItems(@NonNull Inventory inventory, @Nullable boolean all) {
+        renderShadow.resetSkipped();
+        Predicate<GuiButton> placeable = this::check;
         if (all) {
-            inventory.clear();
+            renderShadow.invalidate();
+            prepareLayout();
+            forgetChanged();
+            fillContents(inventory, false, placeable);
             if (enablePlayerInventory) {
-                player.getInventory().clear();
+                fillContents(player.getInventory(), true, placeable);
             }
+            return self();
+        }
+        prepareLayout();
+        forgetChanged();
+        fillItems(inventory, false, placeable, null, diffRender, false);
+        if (enablePlayerInventory) {
+            fillItems(inventory, true, placeable, null, diffRender, false);
         }
+        return self();
+    }
+
+    /**
+     * Merges the buttons returned by {@link #getFillItems()} into the default layer.
+     */
+    private void prepareLayout() {
         Set<GuiButton> fillItems = getFillItems();
-        fillItems.removeAll(editButtons);
-        buttons.addAll(fillItems);
-        for (GuiButton guiButton : fillItems) {
-            if (check(guiButton)) {
-                Button button = guiButton.getButton();
-                setItem(inventory, guiButton, button.getShowItem(player));
-            }
+        if (fillItems != buttons) {
+            buttons.addAll(fillItems);
+        }
+    }
+
+    /**
+     * Forgets the changed slots of the {@link #buttonTable}, called before every slot is rendered.
+     */
+    private void forgetChanged() {
+        buttonTable.takeChanged(false);
+        buttonTable.takeChanged(true);
+    }
+
+    /**
+     * Gets the slots a tick renders: the dynamic slots and the slots changed since they were last rendered.
+     */
+    private int @NonNull [] tickSlots(boolean playerInventory) {
+        int[] dynamic = buttonTable.dynamicSlots(playerInventory);
+        BitSet changed = buttonTable.takeChanged(playerInventory);
+        if (changed.isEmpty()) {
+            return dynamic;
+        }
+        for (int i : dynamic) {
+            changed.set(i);
         }
+        return changed.stream().toArray();
+    }
 
-        Set<GuiButton> attachedItems = new HashSet<>(getAttachedItems());
-        attachedItems.removeAll(editButtons);
-        for (GuiButton guiButton : attachedItems) {
-            if (check(guiButton)) {
-                Button button = guiButton.getButton();
-                setItem(inventory, guiButton, button.getShowItem(player));
+    /**
+     * Replaces the whole contents of an inventory in one {@link me.huanmeng.gui.gui.interfaces.GuiHandler#onSetContents} call.
+     */
+    private void fillContents(@NonNull Inventory inventory, boolean playerInventory, @NonNull Predicate<GuiButton> placeable) {
+        int size = inventory.getSize();
+        GuiButton[] slotButtons = new GuiButton[size];
+        ItemStack[] contents = new ItemStack[size];
+        int limit = Math.min(size, buttonTable.limit(playerInventory));
+        for (int i = 0; i < limit; i++) {
+            GuiButton guiButton = buttonTable.find(playerInventory, i, placeable);
+            if (guiButton != null) {
+                slotButtons[i] = guiButton;
+                contents[i] = guiButton.getButton().getShowItem(player);
             }
         }
+        manager.guiHandler().onSetContents(this, inventory, slotButtons, contents);
+        if (diffRender) {
+            for (int i = 0; i < size; i++) {
+                ItemStack itemStack = contents[i];
+                boolean copyFree = itemStack == null || slotButtons[i].getButton().itemOwnership().isCopyFree();
+                renderShadow.commit(playerInventory, i, copyFree ? itemStack : itemStack.clone());
+            }
+        }
+    }
 
-        for (GuiButton guiButton : editButtons) {
-            if (check(guiButton)) {
-                Button button = guiButton.getButton();
-                if (button != null) {
-                    setItem(inventory, guiButton, button.getShowItem(player));
-                } else {
-                    setItem(inventory, guiButton, null);
-                }
+    private void fillItems(@NonNull Inventory inventory, boolean playerInventory, @NonNull Predicate<GuiButton> placeable,
+                           @Nullable RenderFrame frame, boolean diff, boolean dynamicOnly) {
+        int[] dynamic = dynamicOnly ? tickSlots(playerInventory) : null;
+        int count = dynamic != null ? dynamic.length : buttonTable.limit(playerInventory);
+        for (int n = 0; n < count; n++) {
+            int i = dynamic != null ? dynamic[n] : n;
+            GuiButton guiButton = buttonTable.find(playerInventory, i, placeable);
+            if (guiButton == null) {
+                continue;
             }
+            ItemStack itemStack;
+            if (frame != null && frame.isCurrent(guiButton)) {
+                itemStack = frame.item(playerInventory, i);
+            } else {
+                itemStack = guiButton.getButton().getShowItem(player);
+            }
+            setItem(inventory, guiButton, itemStack, diff);
         }
-        return self();
     }
 
     /**
@@ -785,11 +1211,26 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
      * @param itemStack The ItemStack to place, or null to clear
      */
     private void setItem(@NonNull Inventory inventory, GuiButton guiButton, ItemStack itemStack) {
-        if (!guiButton.isPlayerInventory()) {
-            manager.guiHandler().onSetItem(this, inventory, guiButton, itemStack);
-        } else if (enablePlayerInventory) {
-            manager.guiHandler().onSetItem(this, player.getInventory(), guiButton, itemStack);
+        setItem(inventory, guiButton, itemStack, diffRender);
+    }
+
+    private void setItem(@NonNull Inventory inventory, GuiButton guiButton, ItemStack itemStack, boolean diff) {
+        boolean playerInventory = guiButton.isPlayerInventory();
+        if (playerInventory && !enablePlayerInventory) {
+            return;
         }
+        int index = guiButton.getIndex();
+        if (diff) {
+            if (renderShadow.matches(playerInventory, index, itemStack)) {
+                renderShadow.skip();
+                return;
+            }
+            boolean copyFree = itemStack == null || guiButton.getButton().itemOwnership().isCopyFree();
+            renderShadow.commit(playerInventory, index, copyFree ? itemStack : itemStack.clone());
+        } else {
+            renderShadow.invalidate(playerInventory, index);
+        }
+        manager.guiHandler().onSetItem(this, playerInventory ? player.getInventory() : inventory, guiButton, itemStack);
     }
 
     /**
@@ -805,6 +1246,7 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         if (cacheInventory == null) {
             return self();
         }
+        renderShadow.resetSkipped();
         for (Slot slot : slots.slots(self())) {
             GuiButton button = getButton(slot);
             // Ignore it directly, there is no button in the first place, so there is no need for refresh
@@ -816,6 +1258,58 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         return self();
     }
 
+    /**
+     * Re-renders the slots whose button is tagged with one of the given topics.
+     * Called by {@link GuiManager#invalidate(String)} for every open GUI.
+     *
+     * @param topics The invalidated topics
+     * @return true if at least one slot was re-rendered
+     * @see Button#topics()
+     */
+    @CanIgnoreReturnValue
+    public boolean refreshTopics(@NonNull Set<String> topics) {
+        if (cacheInventory == null || close) {
+            return false;
+        }
+        renderShadow.resetSkipped();
+        boolean refreshed = refreshTopics(false, topics);
+        if (enablePlayerInventory) {
+            refreshed |= refreshTopics(true, topics);
+        }
+        return refreshed;
+    }
+
+    private boolean refreshTopics(boolean playerInventory, @NonNull Set<String> topics) {
+        Predicate<GuiButton> placeable = this::check;
+        boolean refreshed = false;
+        int limit = buttonTable.limit(playerInventory);
+        for (int i = 0; i < limit; i++) {
+            GuiButton guiButton = buttonTable.find(playerInventory, i, placeable);
+            if (guiButton == null) {
+                continue;
+            }
+            Set<String> buttonTopics = guiButton.getButton().topics();
+            if (buttonTopics.isEmpty() || Collections.disjoint(buttonTopics, topics)) {
+                continue;
+            }
+            setItem(cacheInventory, guiButton, guiButton.getButton().getShowItem(player));
+            refreshed = true;
+        }
+        return refreshed;
+    }
+
+    /**
+     * Gets the GUI that renders the inventory shown by this GUI, if it is not this GUI itself.
+     * Slots of that inventory are refreshed through the host, once for all GUIs sharing it.
+     *
+     * @return the rendering GUI, or null if this GUI renders its own inventory
+     * @see me.huanmeng.gui.gui.impl.SharedGui.Viewer
+     */
+    @Nullable
+    protected AbstractGui<?> renderHost() {
+        return null;
+    }
+
     /**
      * Checks if a button can be placed for the current player.
      * Delegates to the button's placement condition.
@@ -906,9 +1400,14 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
             }
             GuiButton guiButton = manager.guiHandler().queryClickButton(e, this);
             if (guiButton == null) {
-                guiButton = getButton(slot, btn -> !btn.isPlayerInventory());
+                guiButton = clickedButton(false, slot);
             }
             if (guiButton != null) {
+                if (isClickPending(false, slot)) {
+                    e.setCancelled(true);
+                    processingClickEvent = false;
+                    return;
+                }
                 if (!allowClick(player, guiButton, e.getClick(), e.getAction(), e.getSlotType(), slot, e.getHotbarButton(), e)) {
                     processingClickEvent = false;
                     return;
@@ -953,9 +1452,14 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
                 }
                 GuiButton guiButton = manager.guiHandler().queryClickButton(e, this);
                 if (guiButton == null) {
-                    guiButton = getButton(slot, GuiButton::isPlayerInventory);
+                    guiButton = clickedButton(true, slot);
                 }
                 if (guiButton != null) {
+                    if (isClickPending(true, slot)) {
+                        e.setCancelled(true);
+                        processingClickEvent = false;
+                        return;
+                    }
                     if (!allowClick(player, guiButton, e.getClick(), e.getAction(), e.getSlotType(), slot, e.getHotbarButton(), e)) {
                         processingClickEvent = false;
                         return;
@@ -998,9 +1502,25 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
             e.getWhoClicked().closeInventory();
             e.setCancelled(true);
         }
+        if (!e.isCancelled()) {
+            // The click is allowed to move items around, so the committed items are no longer reliable
+            renderShadow.invalidate();
+        }
         processingClickEvent = false;
     }
 
+    /**
+     * Gets the button receiving a click on a slot.
+     *
+     * @param player whether the slot belongs to the player inventory
+     * @param slot   the clicked slot index
+     * @return the button, or null if the slot has none
+     */
+    @Nullable
+    protected GuiButton clickedButton(boolean player, int slot) {
+        return buttonTable.get(player, slot);
+    }
+
     protected void processResult(@NonNull Result result, @NonNull ClickData clickData) {
         InventoryClickEvent e = clickData.event;
         ItemStack itemStack = e.getCurrentItem();
@@ -1010,6 +1530,7 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
             e.setCancelled(false);
         } else if (result.equals(Result.CLEAR)) {
             e.setCurrentItem(null);
+            renderShadow.invalidate(clickData.slot.isPlayer(), clickData.slotKey);
         } else if (result.equals(Result.DECREMENT)) {
             itemStack.setAmount(itemStack.getAmount() - 1);
             if (itemStack.getAmount() > 0) {
@@ -1017,11 +1538,14 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
             } else {
                 e.setCurrentItem(null);
             }
+            renderShadow.invalidate(clickData.slot.isPlayer(), clickData.slotKey);
         } else if (result.equals(Result.INCREMENTAL)) {
             itemStack.setAmount(itemStack.getAmount() + 1);
             e.setCurrentItem(itemStack);
+            renderShadow.invalidate(clickData.slot.isPlayer(), clickData.slotKey);
         } else if (result.equals(Result.CANCEL_UPDATE)) {
-            refresh(Slots.of(clickData.slotKey));
+            AbstractGui<?> host = renderHost();
+            (host != null ? host : this).refresh(Slots.of(clickData.slotKey));
         } else if (result.equals(Result.CANCEL_UPDATE_ALL)) {
             refresh(true);
         } else if (result.equals(Result.CANCEL_CLOSE)) {
@@ -1029,11 +1553,120 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         } else if (result instanceof Result.Forward) {
             Result forwarded = ((Result.Forward) result).forwardClick(clickData);
             processResult(forwarded, clickData);
+        } else if (result instanceof Result.Pending) {
+            e.setCancelled(true);
+            awaitResult((Result.Pending) result, clickData);
+        } else if (customResultHandler != null) {
+            customResultHandler.processResult(result, clickData);
+        }
+    }
+
+    /**
+     * Marks the clicked slot as pending and applies the result of an asynchronous click once available.
+     * <p>
+     * Results are chained so that they are applied in click order, each on the main thread through
+     * {@link #processLateResult(Result, ClickData)}. A failed or timed out future applies
+     * {@link #asyncClickFallback} instead. A link of the chain that fails still releases its slot and
+     * does not hold back the results of later clicks.
+     *
+     * @param pending   the pending result
+     * @param clickData the click that produced it
+     */
+    protected void awaitResult(Result.@NonNull Pending pending, @NonNull ClickData clickData) {
+        boolean playerSide = clickData.slot.isPlayer();
+        int index = clickData.slotKey;
+        BitSet pendingSlots = playerSide ? pendingBottom : pendingTop;
+        pendingSlots.set(index);
+        CompletableFuture<Result> guarded = new CompletableFuture<>();
+        Scheduler.Task timeout;
+        try {
+            timeout = Schedulers.sync().runLater(() -> guarded.complete(asyncClickFallback), asyncClickTimeout);
+        } catch (Throwable e) {
+            pendingSlots.clear(index);
+            throw e;
+        }
+        pending.future().whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                manager.plugin().getLogger().log(Level.SEVERE, "An error occurred while handling an async click: ", throwable);
+                guarded.complete(asyncClickFallback);
+            } else {
+                guarded.complete(result == null ? Result.CANCEL : result);
+            }
+        });
+        pendingClicks = pendingClicks
+                .handle((v, throwable) -> null)
+                .thenCompose(v -> guarded)
+                .handle((result, throwable) -> {
+                    try {
+                        Schedulers.sync().run(() -> {
+                            timeout.stop();
+                            pendingSlots.clear(index);
+                            if (isOpened()) {
+                                processLateResult(result != null ? result : asyncClickFallback, clickData);
+                            }
+                        });
+                    } catch (Throwable e) {
+                        // The result can no longer be applied, e.g. while the plugin is disabled
+                        pendingSlots.clear(index);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Applies the result of an asynchronous click, after its {@link InventoryClickEvent} was handled.
+     * <p>
+     * The event was cancelled when the click went pending, so only results that do not depend on it
+     * are accepted: {@link Result#CANCEL}, the refresh and close results, and {@link Result#CLEAR},
+     * {@link Result#DECREMENT} and {@link Result#INCREMENTAL}, which are applied to the item currently
+     * in the clicked slot. Custom results are passed to the {@link CustomResultHandler}, whose event is
+     * no longer live. {@link Result#ALLOW}, forwarded and pending results are rejected with an error.
+     *
+     * @param result    the result of the click
+     * @param clickData the click that produced it
+     */
+    protected void processLateResult(@NonNull Result result, @NonNull ClickData clickData) {
+        if (result.equals(Result.CANCEL)) {
+            return;
+        }
+        if (result.equals(Result.CLEAR) || result.equals(Result.DECREMENT) || result.equals(Result.INCREMENTAL)) {
+            boolean playerSide = clickData.slot.isPlayer();
+            Inventory inventory = playerSide ? player.getInventory() : cacheInventory;
+            int index = clickData.slotKey;
+            ItemStack itemStack = inventory != null ? inventory.getItem(index) : null;
+            if (ItemUtil.isAir(itemStack)) {
+                return;
+            }
+            if (result.equals(Result.CLEAR)) {
+                inventory.setItem(index, null);
+            } else {
+                itemStack.setAmount(itemStack.getAmount() + (result.equals(Result.INCREMENTAL) ? 1 : -1));
+                inventory.setItem(index, itemStack.getAmount() > 0 ? itemStack : null);
+            }
+            renderShadow.invalidate(playerSide, index);
+        } else if (result.equals(Result.CANCEL_UPDATE) || result.equals(Result.CANCEL_UPDATE_ALL) || result.equals(Result.CANCEL_CLOSE)) {
+            processResult(result, clickData);
+        } else if (result.equals(Result.ALLOW) || result instanceof Result.Forward || result instanceof Result.Pending) {
+            String name = result.equals(Result.ALLOW) ? "ALLOW" : result instanceof Result.Forward ? "A forward result" : "A pending result";
+            manager.plugin().getLogger().log(Level.SEVERE, "An error occurred while applying an async click result: ",
+                    new IllegalStateException(name + " cannot be applied after the click event was handled,"
+                            + " complete the future with CANCEL, an update, a close or an item result instead"));
         } else if (customResultHandler != null) {
             customResultHandler.processResult(result, clickData);
         }
     }
 
+    /**
+     * Checks whether a slot is waiting for the result of an asynchronous click.
+     *
+     * @param player whether the slot belongs to the player inventory
+     * @param index  the slot index
+     * @return true if clicks on the slot are currently ignored
+     */
+    public boolean isClickPending(boolean player, int index) {
+        return (player ? pendingBottom : pendingTop).get(index);
+    }
+
     public void onDarg(@NonNull InventoryDragEvent e) {
         // 包装成InventoryClickEvent执行
         for (Map.Entry<Integer, ItemStack> entry : e.getNewItems().entrySet()) {
@@ -1065,16 +1698,104 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         return title(LegacyComponentSerializer.legacySection().deserialize(title));
     }
 
+    /**
+     * Sets the title of this GUI.
+     * <p>
+     * If the GUI is open, the title of the open window is changed in place where the server supports it,
+     * otherwise the inventory is reopened with its current contents without triggering the close and open
+     * callbacks. Changes arriving faster than {@link #titleUpdateInterval(long)} are coalesced, only the
+     * latest title is applied.
+     *
+     * @param title the new title
+     * @return This GUI instance for method chaining
+     */
     @NonNull
     @CanIgnoreReturnValue
     public G title(@NonNull Component title) {
         this.title = title;
-        // 已经打开了? 那就先执行close后的操作然后再重新构建一个inventory打开
-        if (!close) {
+        if (close || pendingTitleTask != null) {
+            return self();
+        }
+        long wait = lastTitleUpdate + titleUpdateInterval * 50 - System.currentTimeMillis();
+        if (wait > 0 || !Bukkit.isPrimaryThread()) {
+            pendingTitleTask = Schedulers.sync().runLater(this::applyTitle, Math.max(1, (wait + 49) / 50));
+        } else {
+            applyTitle();
+        }
+        return self();
+    }
+
+    /**
+     * Sets the minimum number of ticks between two title changes of the open GUI.
+     *
+     * @param ticks the interval in ticks, 0 for no limit
+     * @return This GUI instance for method chaining
+     */
+    @NonNull
+    @CanIgnoreReturnValue
+    public G titleUpdateInterval(long ticks) {
+        this.titleUpdateInterval = ticks;
+        return self();
+    }
+
+    /**
+     * Applies the current title to the open window.
+     */
+    private void applyTitle() {
+        pendingTitleTask = null;
+        lastTitleUpdate = System.currentTimeMillis();
+        if (close || cacheInventory == null) {
+            return;
+        }
+        retitle();
+    }
+
+    /**
+     * Shows the current title in the open window, reopening the inventory with its current contents
+     * if the server cannot change the title of an open window.
+     */
+    protected void retitle() {
+        Inventory inventory = cacheInventory;
+        InventoryView view = player.getOpenInventory();
+        if (view.getTopInventory() != inventory) {
+            return;
+        }
+        if (InventoryUtil.setTitle(view, GlobalTranslator.render(title, LocaleProvider.locale(player)))) {
+            return;
+        }
+        InventoryHolder holder = inventory.getHolder();
+        if (!(holder instanceof GuiHolder)) {
             onClose();
             openGui();
+            return;
+        }
+        // The server cannot retitle an open window, reopen the same contents in a new inventory
+        Inventory retitled = build(holder);
+        retitled.setContents(inventory.getContents());
+        retitling = true;
+        try {
+            show(retitled);
+        } finally {
+            retitling = false;
+        }
+        cache(retitled);
+    }
+
+    /**
+     * Opens an inventory for the player, keeping the item on their cursor.
+     *
+     * @param inventory the inventory to open
+     */
+    protected void show(@NonNull Inventory inventory) {
+        // Ensure the player's cursor item is not lost
+        ItemStack itemOnCursor = player.getItemOnCursor();
+        if (!ItemUtil.isAir(itemOnCursor)) {
+            player.setItemOnCursor(null);
+        }
+        player.openInventory(inventory);
+        if (!ItemUtil.isAir(itemOnCursor)) {
+            player.setItemOnCursor(itemOnCursor);
         }
-        return self();
     }
 
     @NonNull
@@ -1189,7 +1910,83 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         return this.manager;
     }
 
+    /**
+     * Enables or disables diff rendering.
+     * <p>
+     * When enabled, the GUI remembers the item last written to every slot (including player inventory
+     * slots when {@link #enablePlayerInventory(boolean)} is on) and skips writes whose item is unchanged.
+     * A full refresh ({@code refresh(true)}) always rewrites every slot.
+     *
+     * @param diffRender true to only write changed slots
+     * @return This GUI instance for method chaining
+     */
+    @CanIgnoreReturnValue
+    public G diffRender(boolean diffRender) {
+        this.diffRender = diffRender;
+        if (!diffRender) {
+            renderShadow.invalidate();
+        }
+        return self();
+    }
+
+    public boolean diffRender() {
+        return diffRender;
+    }
+
+    /**
+     * Sets the click limiter of this GUI, overriding {@link GuiManager#clickLimiter()}.
+     * Use {@link ClickLimiter#unlimited()} to exempt this GUI from the manager's limiter.
+     *
+     * @param clickLimiter the click limiter, or null to use the manager's limiter
+     * @return This GUI instance for method chaining
+     */
+    @CanIgnoreReturnValue
+    public G clickLimiter(@Nullable ClickLimiter clickLimiter) {
+        this.clickLimiter = clickLimiter;
+        return self();
+    }
+
+    @Nullable
+    public ClickLimiter clickLimiter() {
+        return clickLimiter;
+    }
+
+    /**
+     * Sets how long asynchronous click results are awaited and what is applied when they fail or time out.
+     *
+     * @param timeoutTicks the timeout in ticks
+     * @param fallback     the result applied on failure or timeout
+     * @return This GUI instance for method chaining
+     * @see Result#pending(CompletableFuture)
+     */
+    @CanIgnoreReturnValue
+    public G asyncClickTimeout(long timeoutTicks, @NonNull Result fallback) {
+        this.asyncClickTimeout = timeoutTicks;
+        this.asyncClickFallback = fallback;
+        return self();
+    }
+
+    /**
+     * Gets how many slot writes the last render pass skipped because their item was unchanged.
+     *
+     * @return the skipped slot count, always 0 when diff rendering is disabled
+     */
+    public int lastRenderSkipped() {
+        return renderShadow.skipped();
+    }
+
+    /**
+     * Gets the mutable metadata of this GUI.
+     * <p>
+     * A copy created by {@link #copy()} shares the metadata with its original until either side calls this method.
+     *
+     * @return the metadata
+     */
     public Map<String, Object> metadata() {
+        if (metadataShared) {
+            metadata = new HashMap<>(metadata);
+            metadataShared = false;
+        }
         return metadata;
     }
 
@@ -1204,9 +2001,11 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         AbstractGui<G> gui = (AbstractGui<G>) newGui;
         gui.player = player;
         gui.title = title;
-        gui.buttons = buttons;
-        gui.attachedButtons = attachedButtons;
-        gui.editButtons = editButtons;
+        // Copy-on-write: layouts, tickles and metadata are shared until either side modifies them
+        gui.buttonTable = buttonTable.copy(gui::startTick);
+        gui.buttons = gui.buttonTable.layer(ButtonTable.LAYER_DEFAULT);
+        gui.attachedButtons = gui.buttonTable.layer(ButtonTable.LAYER_ATTACHED);
+        gui.editButtons = gui.buttonTable.layer(ButtonTable.LAYER_EDIT);
         gui.backGuiGetter = backGuiGetter;
         gui.backGuiRunner = backGuiRunner;
         gui.cancelClickOther = cancelClickOther;
@@ -1217,8 +2016,14 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         gui.enablePlayerInventory = enablePlayerInventory;
         gui.disableClick = disableClick;
         gui.tickles = tickles;
+        gui.ticklesShared = ticklesShared = true;
         gui.intervalTick = intervalTick;
         gui.tickRefresh = tickRefresh;
+        gui.diffRender = diffRender;
+        gui.clickLimiter = clickLimiter;
+        gui.asyncClickTimeout = asyncClickTimeout;
+        gui.asyncClickFallback = asyncClickFallback;
+        gui.titleUpdateInterval = titleUpdateInterval;
         gui.guiClick = guiClick;
         gui.guiEmptyItemClick = guiEmptyItemClick;
         gui.guiBottomClick = guiBottomClick;
@@ -1226,6 +2031,7 @@ public abstract class AbstractGui<@NonNull G extends AbstractGui<@NonNull G>> im
         gui.errorMessage = errorMessage;
         gui.allowReopen = allowReopen;
         gui.metadata = metadata;
+        gui.metadataShared = metadataShared = true;
         gui.manager = manager;
         gui.customResultHandler = customResultHandler;
         return gui;
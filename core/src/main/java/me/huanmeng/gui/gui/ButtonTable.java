@@ -0,0 +1,591 @@
+package me.huanmeng.gui.gui;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Slot-indexed storage for the buttons of a GUI.
+ * <p>
+ * The table owns the three button layers of an {@link AbstractGui}, exposed as {@link Set}s so
+ * existing code can keep adding and removing {@link GuiButton}s. Every mutation of a layer is mirrored
+ * into dense arrays indexed by slot, one for the top inventory and one for the player inventory,
+ * and the winning button of each slot is resolved at write time.
+ *
+ * <p>
+ * Tables are copy-on-write: {@link #copy()} shares the storage in O(1) and the first mutation of
+ * either table afterwards gives it a private copy, so a template GUI can be copied per player cheaply.
+ * A table may be copied from several threads as long as it is not modified meanwhile; modifications
+ * themselves are not thread-safe.
+ *
+ * <p>
+ * Slots whose layers were modified are remembered until {@link #takeChanged(boolean)}, so a tick that only
+ * renders {@link #dynamicSlots(boolean) dynamic slots} still draws a static button newly placed in a slot.
+ * A slot only counts as changed if its resolved button differs from the one it had at the previous call,
+ * so removing and re-adding the same button, as page layouts do on every render, changes nothing.
+ *
+ * <p>
+ * <b>Layer precedence (highest first):</b>
+ * <ul>
+ *   <li>{@link #LAYER_EDIT} - internal modifications</li>
+ *   <li>{@link #LAYER_ATTACHED} - dynamically attached buttons</li>
+ *   <li>{@link #LAYER_DEFAULT} - standard buttons</li>
+ * </ul>
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+public final class ButtonTable {
+    /**
+     * Default priority layer
+     */
+    public static final int LAYER_DEFAULT = 0;
+
+    /**
+     * Medium priority layer for dynamically attached buttons
+     */
+    public static final int LAYER_ATTACHED = 1;
+
+    /**
+     * Highest priority layer for internal modifications
+     */
+    public static final int LAYER_EDIT = 2;
+
+    private final Layer @NonNull [] layers = {new Layer(LAYER_DEFAULT), new Layer(LAYER_ATTACHED), new Layer(LAYER_EDIT)};
+
+    /**
+     * The storage, possibly shared with copies of this table
+     */
+    @NonNull
+    private State state;
+
+    /**
+     * Top inventory slots modified since the last {@link #takeChanged(boolean)}
+     */
+    @NonNull
+    private final BitSet changedTop = new BitSet();
+
+    /**
+     * Player inventory slots modified since the last {@link #takeChanged(boolean)}
+     */
+    @NonNull
+    private final BitSet changedBottom = new BitSet();
+
+    /**
+     * Resolved top inventory buttons as of the last {@link #takeChanged(boolean)}
+     */
+    private GuiButton @NonNull [] seenTop = new GuiButton[0];
+
+    /**
+     * Resolved player inventory buttons as of the last {@link #takeChanged(boolean)}
+     */
+    private GuiButton @NonNull [] seenBottom = new GuiButton[0];
+
+    /**
+     * Called after every modification, or null
+     */
+    @Nullable
+    private final Runnable onChange;
+
+    public ButtonTable() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty table.
+     *
+     * @param onChange called after every modification of a layer, or null
+     */
+    public ButtonTable(@Nullable Runnable onChange) {
+        this(new State(), onChange);
+    }
+
+    private ButtonTable(@NonNull State state, @Nullable Runnable onChange) {
+        this.state = state;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Creates a table with the same buttons, sharing the storage until either table is modified.
+     *
+     * @return the copy
+     */
+    @NonNull
+    public ButtonTable copy() {
+        return copy(null);
+    }
+
+    /**
+     * Creates a table with the same buttons, sharing the storage until either table is modified.
+     * The copy starts without modified slots.
+     *
+     * @param onChange called after every modification of the copy, or null
+     * @return the copy
+     */
+    @NonNull
+    public ButtonTable copy(@Nullable Runnable onChange) {
+        State state = this.state;
+        state.owners.incrementAndGet();
+        return new ButtonTable(state, onChange);
+    }
+
+    /**
+     * Gets the live set view of a layer.
+     *
+     * @param layer one of {@link #LAYER_DEFAULT}, {@link #LAYER_ATTACHED} or {@link #LAYER_EDIT}
+     * @return the layer's buttons
+     */
+    @NonNull
+    public Set<GuiButton> layer(int layer) {
+        return layers[layer];
+    }
+
+    /**
+     * Gets the highest priority button at a slot.
+     *
+     * @param player whether the slot belongs to the player inventory
+     * @param index  the slot index
+     * @return the button, or null if no layer has one at that slot
+     */
+    @Nullable
+    public GuiButton get(boolean player, int index) {
+        GuiButton[] resolved = player ? state.bottom : state.top;
+        if (index < 0 || index >= resolved.length) {
+            return null;
+        }
+        return resolved[index];
+    }
+
+    /**
+     * Gets the highest priority button at a slot that matches a filter.
+     * Layers are visited from highest to lowest priority, so a rejected button reveals the one below it.
+     *
+     * @param player whether the slot belongs to the player inventory
+     * @param index  the slot index
+     * @param filter the filter a button must pass
+     * @return the button, or null if none matches
+     */
+    @Nullable
+    public GuiButton find(boolean player, int index, @NonNull Predicate<? super GuiButton> filter) {
+        if (index < 0) {
+            return null;
+        }
+        State state = this.state;
+        for (int i = layers.length - 1; i >= 0; i--) {
+            GuiButton button = state.at(i, player, index);
+            if (button != null && filter.test(button)) {
+                return button;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the slots where any layer holds a button that is not {@link GuiButton#isStatic() static}, in ascending order.
+     * <p>
+     * A static button above a dynamic one still makes the slot dynamic, since a rejected button reveals the one below it.
+     * The result is computed once per modification of the table.
+     *
+     * @param player whether to query the player inventory
+     * @return the dynamic slot indexes, which must not be modified
+     */
+    public int @NonNull [] dynamicSlots(boolean player) {
+        return state.dynamicSlots(player);
+    }
+
+    /**
+     * Gets and forgets the slots whose resolved button changed since the last call.
+     *
+     * @param player whether to query the player inventory
+     * @return the changed slot indexes, owned by the caller
+     */
+    @NonNull
+    public BitSet takeChanged(boolean player) {
+        BitSet changed = player ? changedBottom : changedTop;
+        if (changed.isEmpty()) {
+            return new BitSet(0);
+        }
+        GuiButton[] seen = ensureCapacity(player ? seenBottom : seenTop, changed.length() - 1);
+        if (player) {
+            seenBottom = seen;
+        } else {
+            seenTop = seen;
+        }
+        BitSet taken = new BitSet();
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            GuiButton current = get(player, i);
+            if (!same(current, seen[i])) {
+                taken.set(i);
+            }
+            seen[i] = current;
+        }
+        changed.clear();
+        return taken;
+    }
+
+    /**
+     * Checks whether the resolved button of any slot changed since the last {@link #takeChanged(boolean)}.
+     *
+     * @param player whether to query the player inventory
+     * @return true if a slot changed
+     */
+    public boolean hasChanged(boolean player) {
+        BitSet changed = player ? changedBottom : changedTop;
+        GuiButton[] seen = player ? seenBottom : seenTop;
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            if (!same(get(player, i), i < seen.length ? seen[i] : null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether two resolved buttons show the same button at the same slot.
+     * {@link GuiButton#equals(Object)} only compares slots, so the buttons are compared by identity.
+     */
+    private static boolean same(@Nullable GuiButton a, @Nullable GuiButton b) {
+        if (a == b) {
+            return true;
+        }
+        return a != null && b != null && a.getButton() == b.getButton() && a.getSlot().equals(b.getSlot());
+    }
+
+    /**
+     * Gets the exclusive upper bound of the slot indexes that may hold a button.
+     *
+     * @param player whether to query the player inventory
+     * @return one past the highest index ever written
+     */
+    public int limit(boolean player) {
+        return player ? state.bottomLimit : state.topLimit;
+    }
+
+    /**
+     * Gets the storage for a modification, detaching it from copies of this table first.
+     */
+    @NonNull
+    private State mutable() {
+        State state = this.state;
+        if (state.owners.get() > 1) {
+            // Copy before giving up the share, so the storage is never written while another table still reads it
+            State copy = state.copy();
+            state.owners.decrementAndGet();
+            state = this.state = copy;
+        }
+        return state;
+    }
+
+    /**
+     * Remembers a modified slot, a negative index marks every slot up to the limit.
+     */
+    private void changed(boolean player, int index) {
+        BitSet changed = player ? changedBottom : changedTop;
+        if (index >= 0) {
+            changed.set(index);
+        } else {
+            changed.set(0, limit(player));
+        }
+        if (onChange != null) {
+            onChange.run();
+        }
+    }
+
+    private static GuiButton @NonNull [] ensureCapacity(GuiButton @NonNull [] buttons, int index) {
+        if (index < buttons.length) {
+            return buttons;
+        }
+        return Arrays.copyOf(buttons, Math.max(index + 1, buttons.length * 2));
+    }
+
+    /**
+     * The buttons of all layers, indexed by slot.
+     */
+    private static final class State {
+        /**
+         * Number of tables sharing this state
+         */
+        private final AtomicInteger owners = new AtomicInteger(1);
+
+        private final HashSet<GuiButton> @NonNull [] members;
+        private final GuiButton @NonNull [] @NonNull [] layerTop;
+        private final GuiButton @NonNull [] @NonNull [] layerBottom;
+
+        /**
+         * Resolved button per top inventory slot
+         */
+        private GuiButton @NonNull [] top;
+
+        /**
+         * Resolved button per player inventory slot
+         */
+        private GuiButton @NonNull [] bottom;
+
+        /**
+         * One past the highest top inventory index ever written
+         */
+        private int topLimit;
+
+        /**
+         * One past the highest player inventory index ever written
+         */
+        private int bottomLimit;
+
+        /**
+         * Dynamic top inventory slots, or null until computed after the last modification
+         */
+        private int @Nullable [] dynamicTop;
+
+        /**
+         * Dynamic player inventory slots, or null until computed after the last modification
+         */
+        private int @Nullable [] dynamicBottom;
+
+        @SuppressWarnings("unchecked")
+        State() {
+            members = new HashSet[]{new HashSet<>(10), new HashSet<>(10), new HashSet<>(10)};
+            layerTop = new GuiButton[][]{new GuiButton[0], new GuiButton[0], new GuiButton[0]};
+            layerBottom = new GuiButton[][]{new GuiButton[0], new GuiButton[0], new GuiButton[0]};
+            top = new GuiButton[54];
+            bottom = new GuiButton[41];
+        }
+
+        @SuppressWarnings("unchecked")
+        private State(@NonNull State other) {
+            members = new HashSet[other.members.length];
+            layerTop = new GuiButton[other.layerTop.length][];
+            layerBottom = new GuiButton[other.layerBottom.length][];
+            for (int i = 0; i < members.length; i++) {
+                members[i] = new HashSet<>(other.members[i]);
+                layerTop[i] = other.layerTop[i].clone();
+                layerBottom[i] = other.layerBottom[i].clone();
+            }
+            top = other.top.clone();
+            bottom = other.bottom.clone();
+            topLimit = other.topLimit;
+            bottomLimit = other.bottomLimit;
+            dynamicTop = other.dynamicTop;
+            dynamicBottom = other.dynamicBottom;
+        }
+
+        @NonNull
+        State copy() {
+            return new State(this);
+        }
+
+        @Nullable
+        GuiButton at(int layer, boolean player, int index) {
+            GuiButton[] buttons = player ? layerBottom[layer] : layerTop[layer];
+            return index < buttons.length ? buttons[index] : null;
+        }
+
+        int @NonNull [] dynamicSlots(boolean player) {
+            int[] slots = player ? dynamicBottom : dynamicTop;
+            if (slots != null) {
+                return slots;
+            }
+            int limit = player ? bottomLimit : topLimit;
+            int[] found = new int[limit];
+            int count = 0;
+            for (int index = 0; index < limit; index++) {
+                for (int i = members.length - 1; i >= 0; i--) {
+                    GuiButton button = at(i, player, index);
+                    if (button != null && !button.isStatic()) {
+                        found[count++] = index;
+                        break;
+                    }
+                }
+            }
+            slots = Arrays.copyOf(found, count);
+            if (player) {
+                dynamicBottom = slots;
+            } else {
+                dynamicTop = slots;
+            }
+            return slots;
+        }
+
+        void index(int layer, @NonNull GuiButton button, int index) {
+            if (button.isPlayerInventory()) {
+                layerBottom[layer] = ensureCapacity(layerBottom[layer], index);
+                layerBottom[layer][index] = button;
+            } else {
+                layerTop[layer] = ensureCapacity(layerTop[layer], index);
+                layerTop[layer][index] = button;
+            }
+            resolve(button.isPlayerInventory(), index);
+        }
+
+        void unindex(int layer, @NonNull GuiButton button) {
+            int index = button.getIndex();
+            if (index < 0) {
+                return;
+            }
+            boolean player = button.isPlayerInventory();
+            GuiButton indexed = at(layer, player, index);
+            if (indexed == null || !indexed.equals(button)) {
+                return;
+            }
+            // Another button of this layer may share the index through a different slot implementation
+            GuiButton replacement = null;
+            for (GuiButton member : members[layer]) {
+                if (member.getIndex() == index && member.isPlayerInventory() == player) {
+                    replacement = member;
+                    break;
+                }
+            }
+            (player ? layerBottom : layerTop)[layer][index] = replacement;
+            resolve(player, index);
+        }
+
+        void clear(int layer) {
+            members[layer].clear();
+            Arrays.fill(layerTop[layer], null);
+            Arrays.fill(layerBottom[layer], null);
+            for (int i = 0; i < topLimit; i++) {
+                resolve(false, i);
+            }
+            for (int i = 0; i < bottomLimit; i++) {
+                resolve(true, i);
+            }
+        }
+
+        private void resolve(boolean player, int index) {
+            if (player) {
+                dynamicBottom = null;
+            } else {
+                dynamicTop = null;
+            }
+            GuiButton winner = null;
+            for (int i = members.length - 1; i >= 0 && winner == null; i--) {
+                winner = at(i, player, index);
+            }
+            if (player) {
+                if (winner != null) {
+                    bottom = ensureCapacity(bottom, index);
+                    bottomLimit = Math.max(bottomLimit, index + 1);
+                }
+                if (index < bottom.length) {
+                    bottom[index] = winner;
+                }
+            } else {
+                if (winner != null) {
+                    top = ensureCapacity(top, index);
+                    topLimit = Math.max(topLimit, index + 1);
+                }
+                if (index < top.length) {
+                    top[index] = winner;
+                }
+            }
+        }
+    }
+
+    /**
+     * A live view of a single button layer.
+     */
+    private final class Layer extends AbstractSet<GuiButton> {
+        private final int layer;
+
+        Layer(int layer) {
+            this.layer = layer;
+        }
+
+        @Override
+        public boolean add(GuiButton button) {
+            if (state.members[layer].contains(button)) {
+                return false;
+            }
+            State state = mutable();
+            state.members[layer].add(button);
+            int index = button.getIndex();
+            if (index >= 0) {
+                state.index(layer, button, index);
+                changed(button.isPlayerInventory(), index);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof GuiButton) || !state.members[layer].contains(o)) {
+                return false;
+            }
+            State state = mutable();
+            state.members[layer].remove(o);
+            state.unindex(layer, (GuiButton) o);
+            unindexed((GuiButton) o);
+            return true;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return state.members[layer].contains(o);
+        }
+
+        @Override
+        public int size() {
+            return state.members[layer].size();
+        }
+
+        @Override
+        public void clear() {
+            if (state.members[layer].isEmpty()) {
+                return;
+            }
+            mutable().clear(layer);
+            changed(false, -1);
+            changed(true, -1);
+        }
+
+        private void unindexed(@NonNull GuiButton button) {
+            if (button.getIndex() >= 0) {
+                changed(button.isPlayerInventory(), button.getIndex());
+            }
+        }
+
+        @Override
+        @NonNull
+        public Iterator<GuiButton> iterator() {
+            HashSet<GuiButton> members = state.members[layer];
+            Iterator<GuiButton> iterator = members.iterator();
+            return new Iterator<GuiButton>() {
+                private GuiButton last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public GuiButton next() {
+                    return last = iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    State state = mutable();
+                    if (state.members[layer] == members) {
+                        iterator.remove();
+                        state.unindex(layer, last);
+                        unindexed(last);
+                    } else {
+                        // The iterated set is still shared with a copy, remove from this table's private copy instead
+                        Layer.this.remove(last);
+                    }
+                    last = null;
+                }
+            };
+        }
+    }
+}
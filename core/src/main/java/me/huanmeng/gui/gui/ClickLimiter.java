@@ -0,0 +1,138 @@
+package me.huanmeng.gui.gui;
+
+import com.google.common.base.Preconditions;
+import org.jspecify.annotations.NonNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-player token bucket limiting how many inventory clicks reach a GUI.
+ * <p>
+ * Every player owns a bucket holding up to {@code capacity} tokens that refills continuously at
+ * {@code refillPerSecond} tokens per second. Each click consumes one token; clicks arriving with an
+ * empty bucket are rejected and cancelled before any button logic runs.
+ *
+ * <p>
+ * A limiter can be set for all GUIs through {@link GuiManager#clickLimiter(ClickLimiter)} and
+ * overridden per GUI through {@link AbstractGui#clickLimiter(ClickLimiter)}.
+ *
+ * <p><b>Example:</b>
+ * <pre>{@code
+ * // Bursts of up to 8 clicks, 10 clicks per second sustained
+ * GuiManager.instance().clickLimiter(ClickLimiter.of(8, 10));
+ * }</pre>
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+public class ClickLimiter {
+    /**
+     * A limiter that never rejects, used to opt a GUI out of the manager's limiter.
+     */
+    private static final ClickLimiter UNLIMITED = new ClickLimiter(1, 1) {
+        @Override
+        public boolean tryAcquire(@NonNull UUID player) {
+            return true;
+        }
+    };
+
+    private final int capacity;
+    private final double tokensPerNano;
+
+    @NonNull
+    private final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @NonNull
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Creates a limiter.
+     *
+     * @param capacity        the maximum burst of clicks
+     * @param refillPerSecond the sustained number of clicks allowed per second
+     */
+    public ClickLimiter(int capacity, double refillPerSecond) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+        Preconditions.checkArgument(refillPerSecond > 0, "refillPerSecond must be positive");
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000D;
+    }
+
+    /**
+     * Creates a limiter.
+     *
+     * @param capacity        the maximum burst of clicks
+     * @param refillPerSecond the sustained number of clicks allowed per second
+     * @return the limiter
+     */
+    @NonNull
+    public static ClickLimiter of(int capacity, double refillPerSecond) {
+        return new ClickLimiter(capacity, refillPerSecond);
+    }
+
+    /**
+     * Gets a limiter that accepts every click.
+     *
+     * @return the unlimited limiter
+     */
+    @NonNull
+    public static ClickLimiter unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Tries to consume a token for a click.
+     *
+     * @param player the clicking player
+     * @return true if the click may proceed, false if it was rejected
+     */
+    public boolean tryAcquire(@NonNull UUID player) {
+        Bucket bucket = buckets.computeIfAbsent(player, uuid -> new Bucket(capacity));
+        if (bucket.tryAcquire(capacity, tokensPerNano)) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Gets how many clicks this limiter has rejected.
+     *
+     * @return the rejected click count
+     */
+    public long rejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Drops the bucket of a player, usually when they leave the server.
+     *
+     * @param player the player
+     */
+    public void forget(@NonNull UUID player) {
+        buckets.remove(player);
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long last = System.nanoTime();
+
+        Bucket(int capacity) {
+            this.tokens = capacity;
+        }
+
+        synchronized boolean tryAcquire(int capacity, double tokensPerNano) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - last) * tokensPerNano);
+            last = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -137,6 +137,22 @@ public final class GuiButton {
         this.button = button;
     }
 
+    /**
+     * Checks whether this button always renders the same item in the same place.
+     * <p>
+     * Static buttons are rendered when the inventory is filled and skipped by tick refreshes.
+     * The classification is made when the button is added to a GUI; re-add the button after
+     * {@link #setButton(Button) replacing} its implementation.
+     * </p>
+     *
+     * @return true if both the button item and the slot placement never change
+     * @see Button#isStatic()
+     * @see Slot#isConditional()
+     */
+    public boolean isStatic() {
+        return (button == Button.EMPTY || button.isStatic()) && !slot.isConditional();
+    }
+
     /**
      * Checks if this button is in the player's inventory.
      *
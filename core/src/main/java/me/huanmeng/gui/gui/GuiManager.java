@@ -9,13 +9,20 @@ import me.huanmeng.gui.gui.interfaces.GuiHandler;
 import me.huanmeng.gui.gui.listener.BukkitEventListener;
 import me.huanmeng.gui.gui.listener.ListenerAdapter;
 import me.huanmeng.gui.gui.listener.PaperEventListener;
+import me.huanmeng.gui.scheduler.NextTickQueue;
 import me.huanmeng.gui.scheduler.SchedulerAsync;
 import me.huanmeng.gui.scheduler.SchedulerSync;
 import me.huanmeng.gui.scheduler.Schedulers;
+import me.huanmeng.gui.tick.TickManager;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.platform.AudienceProvider;
@@ -33,6 +40,7 @@ import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
 import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.inventory.CraftingInventory;
 import org.bukkit.inventory.Inventory;
@@ -110,10 +118,35 @@ public class GuiManager implements ListenerAdapter {
     private Metrics metrics;
 
     /**
-     * Flag indicating whether a click event is currently being processed.
-     * Used to prevent recursive event handling.
+     * Click limiter applied to every GUI without its own limiter, null for no limit.
      */
-    private boolean processingClickEvent = false;
+    @Nullable
+    private ClickLimiter clickLimiter;
+
+    /**
+     * Maximum number of {@link HGui} back navigation entries kept per player.
+     */
+    private int maxBackStackDepth = 16;
+
+    /**
+     * Maximum number of metadata entries retained by the back stack of a player.
+     */
+    private int maxBackStackMetadata = 256;
+
+    /**
+     * Whether opening a GUI may take over the open inventory of the previous GUI when compatible.
+     */
+    private boolean inPlaceSwitch = false;
+
+    /**
+     * Maximum number of left {@link HGui} instances kept alive per player for back navigation, 0 to disable.
+     */
+    private int liveBackCacheSize = 0;
+
+    /**
+     * Maximum age in milliseconds of a left {@link HGui} instance that can still be reopened.
+     */
+    private long liveBackCacheAge = 0;
 
     /**
      * The registered Bukkit/Paper event listener instance.
@@ -182,6 +215,7 @@ public class GuiManager implements ListenerAdapter {
      * <ul>
      *   <li>Unregisters all event listeners</li>
      *   <li>Shuts down bStats metrics</li>
+     *   <li>Stops the {@link TickManager} drivers</li>
      *   <li>Clears the singleton instance</li>
      * </ul>
      *
@@ -199,21 +233,169 @@ public class GuiManager implements ListenerAdapter {
             metrics.shutdown();
             metrics = null;
         }
+        TickManager.shutdown();
+        NextTickQueue.shutdown();
+        sessions.clear();
         GuiManager.instance = null;
     }
 
     /**
-     * Map of currently open GUIs indexed by player UUID.
+     * Sessions of players that opened a GUI, indexed by player UUID.
+     * Removed when the player quits.
      */
     @NonNull
-    private final Map<UUID, AbstractGui<?>> userOpenGui = new ConcurrentHashMap<>();
+    private final Map<UUID, GuiSession> sessions = new ConcurrentHashMap<>();
 
     /**
-     * Map of GUIs scheduled to be opened next, indexed by player UUID.
-     * Used to track GUIs between close and open events.
+     * Topics invalidated since the last flush, guarded by itself.
      */
     @NonNull
-    final Map<UUID, AbstractGui<?>> userNextOpenGui = new ConcurrentHashMap<>();
+    private final Set<String> invalidatedTopics = new HashSet<>();
+
+    /**
+     * Gets the session of a player, creating it if needed.
+     *
+     * @param uuid the player's unique identifier
+     * @return the player's session
+     */
+    @NonNull
+    public GuiSession session(@NonNull UUID uuid) {
+        return sessions.computeIfAbsent(uuid, GuiSession::new);
+    }
+
+    /**
+     * Gets the session of a player without creating it.
+     *
+     * @param uuid the player's unique identifier
+     * @return the player's session, or null if the player has none
+     */
+    @Nullable
+    public GuiSession getSession(@NonNull UUID uuid) {
+        return sessions.get(uuid);
+    }
+
+    /**
+     * Gets how many player sessions are currently alive.
+     * <p>
+     * Sessions are removed when their player quits, so this should never exceed the number of online players.
+     *
+     * @return the live session count
+     */
+    public int liveSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets how many {@link HGui} back navigation entries are retained across all sessions.
+     *
+     * @return the retained back stack entry count
+     */
+    public int retainedBackStackEntries() {
+        int entries = 0;
+        for (GuiSession session : sessions.values()) {
+            entries += session.backStackSize();
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the maximum number of {@link HGui} back navigation entries kept per player.
+     *
+     * @return the maximum back stack depth
+     */
+    public int maxBackStackDepth() {
+        return maxBackStackDepth;
+    }
+
+    /**
+     * Sets the maximum number of {@link HGui} back navigation entries kept per player.
+     * When exceeded, the oldest entries are dropped.
+     *
+     * @param maxBackStackDepth the maximum back stack depth, at least 1
+     */
+    public void maxBackStackDepth(int maxBackStackDepth) {
+        Preconditions.checkArgument(maxBackStackDepth > 0, "maxBackStackDepth must be positive");
+        this.maxBackStackDepth = maxBackStackDepth;
+    }
+
+    /**
+     * Gets the maximum number of metadata entries retained by the back stack of a player.
+     *
+     * @return the maximum metadata entry count
+     */
+    public int maxBackStackMetadata() {
+        return maxBackStackMetadata;
+    }
+
+    /**
+     * Sets the maximum number of metadata entries retained by the back stack of a player.
+     * When exceeded, the oldest entries are dropped; the most recent entry is always kept.
+     *
+     * @param maxBackStackMetadata the maximum metadata entry count
+     */
+    public void maxBackStackMetadata(int maxBackStackMetadata) {
+        Preconditions.checkArgument(maxBackStackMetadata >= 0, "maxBackStackMetadata must not be negative");
+        this.maxBackStackMetadata = maxBackStackMetadata;
+    }
+
+    /**
+     * Checks whether GUIs switch in place when compatible.
+     *
+     * @return true if in-place switching is enabled
+     * @see #inPlaceSwitch(boolean)
+     */
+    public boolean inPlaceSwitch() {
+        return inPlaceSwitch;
+    }
+
+    /**
+     * Sets whether opening a GUI may take over the open inventory of the player's current GUI.
+     * <p>
+     * When enabled and both GUIs use an inventory of the same type, size and title without player
+     * inventory buttons, the new GUI is bound to the already open inventory and only the slots that
+     * differ are written. The player's window is neither closed nor reopened, so the cursor is untouched.
+     * Disabled by default.
+     *
+     * @param inPlaceSwitch true to enable in-place switching
+     */
+    public void inPlaceSwitch(boolean inPlaceSwitch) {
+        this.inPlaceSwitch = inPlaceSwitch;
+    }
+
+    /**
+     * Keeps recently left {@link HGui} instances alive, so going back reopens them instead of rebuilding them.
+     * <p>
+     * A reopened GUI keeps its buttons and inventory and only writes the slots whose item changed.
+     * Instances evicted by count or age are rebuilt through their constructor as usual.
+     * Disabled by default.
+     *
+     * @param size   the maximum number of instances kept per player, 0 to disable
+     * @param maxAge the maximum time an instance is kept
+     * @param unit   the unit of {@code maxAge}
+     */
+    public void liveBackCache(int size, long maxAge, @NonNull TimeUnit unit) {
+        Preconditions.checkArgument(size >= 0, "size must not be negative");
+        this.liveBackCacheSize = size;
+        this.liveBackCacheAge = unit.toMillis(maxAge);
+    }
+
+    /**
+     * Gets the maximum number of left {@link HGui} instances kept alive per player.
+     *
+     * @return the live back cache size, 0 if disabled
+     */
+    public int liveBackCacheSize() {
+        return liveBackCacheSize;
+    }
+
+    /**
+     * Gets the maximum age in milliseconds of a left {@link HGui} instance that can still be reopened.
+     *
+     * @return the maximum age in milliseconds
+     */
+    public long liveBackCacheAge() {
+        return liveBackCacheAge;
+    }
 
     /**
      * Associates a GUI with a player's UUID.
@@ -222,7 +404,10 @@ public class GuiManager implements ListenerAdapter {
      * @param gui  the GUI to associate with the player
      */
     public void setUserOpenGui(@NonNull UUID uuid, @NonNull AbstractGui<?> gui) {
-        userOpenGui.put(uuid, gui);
+        if (!gui.getPlayer().isOnline()) {
+            return;
+        }
+        session(uuid).openGui(gui);
     }
 
     /**
@@ -231,7 +416,10 @@ public class GuiManager implements ListenerAdapter {
      * @param uuid the player's unique identifier
      */
     public void removeUserOpenGui(@NonNull UUID uuid) {
-        userOpenGui.remove(uuid);
+        GuiSession session = sessions.get(uuid);
+        if (session != null) {
+            session.openGui(null);
+        }
     }
 
     /**
@@ -242,7 +430,8 @@ public class GuiManager implements ListenerAdapter {
      */
     @Nullable
     public AbstractGui<?> getUserOpenGui(@NonNull UUID uuid) {
-        return userOpenGui.get(uuid);
+        GuiSession session = sessions.get(uuid);
+        return session == null ? null : session.openGui();
     }
 
     /**
@@ -260,7 +449,7 @@ public class GuiManager implements ListenerAdapter {
         if (!(holder instanceof GuiHolder)) {
             return false;
         }
-        AbstractGui<?> gui = userOpenGui.get(uuid);
+        AbstractGui<?> gui = getUserOpenGui(uuid);
         if (gui == null) {
             return false;
         }
@@ -277,7 +466,7 @@ public class GuiManager implements ListenerAdapter {
      * @return true if the player has a GUI open
      */
     public boolean isOpenGui(@NonNull UUID user) {
-        return userOpenGui.containsKey(user);
+        return getUserOpenGui(user) != null;
     }
 
     /**
@@ -308,7 +497,13 @@ public class GuiManager implements ListenerAdapter {
             return;
         }
         Player player = (Player) e.getWhoClicked();
-        onInventoryClick(e, player);
+        GuiSession session = sessions.get(player.getUniqueId());
+        if (!(e instanceof InventorySwitchEvent) && !acquireClick(session)) {
+            // Also skips the synthetic switch event below, a rejected click is rejected as a whole
+            e.setCancelled(true);
+            return;
+        }
+        dispatchClick(e, player, session);
         if (e instanceof InventorySwitchEvent) {
             return;
         }
@@ -332,7 +527,7 @@ public class GuiManager implements ListenerAdapter {
             } else if (swapOffhand) {
                 event.setCurrentItem(e.getCurrentItem());
             }
-            onInventoryClick(event, player);
+            dispatchClick(event, player, session);
             if (event.disable()) {
                 return;
             }
@@ -345,6 +540,21 @@ public class GuiManager implements ListenerAdapter {
         }
     }
 
+    /**
+     * Consumes a click token of the limiter effective for the player's open GUI.
+     *
+     * @param session the clicking player's session
+     * @return true if the click may be processed
+     */
+    private boolean acquireClick(@Nullable GuiSession session) {
+        AbstractGui<?> gui = session == null ? null : session.openGui();
+        if (gui == null) {
+            return true;
+        }
+        ClickLimiter limiter = gui.clickLimiter() != null ? gui.clickLimiter() : clickLimiter;
+        return limiter == null || limiter.tryAcquire(session.uuid());
+    }
+
     /**
      * Processes an inventory click event for a specific player.
      *
@@ -356,23 +566,23 @@ public class GuiManager implements ListenerAdapter {
      * @param player the player who clicked
      */
     protected void onInventoryClick(@NonNull InventoryClickEvent e, @NonNull Player player) {
-        processingClickEvent = true;
-        UUID uuid = player.getUniqueId();
-        if (!isOpenGui(uuid)) {
-            processingClickEvent = false;
+        dispatchClick(e, player, sessions.get(player.getUniqueId()));
+    }
+
+    private void dispatchClick(@NonNull InventoryClickEvent e, @NonNull Player player, @Nullable GuiSession session) {
+        AbstractGui<?> gui = session == null ? null : session.openGui();
+        if (gui == null) {
             return;
         }
+        session.processingClick(true);
         try {
-            AbstractGui<?> gui = getUserOpenGui(uuid);
-            if (gui != null) {
-                gui.onClick(e);
-            }
+            gui.onClick(e);
         } catch (Throwable ex) {
             this.plugin.getLogger().log(Level.SEVERE, "An error occurred while processing the click event", ex);
             player.closeInventory();
             player.sendMessage("§cAn error occurred while processing your click request!");
         } finally {
-            processingClickEvent = false;
+            session.processingClick(false);
         }
     }
 
@@ -392,14 +602,16 @@ public class GuiManager implements ListenerAdapter {
             return;
         }
         Player player = (Player) e.getWhoClicked();
-        UUID uuid = player.getUniqueId();
-        if (!isOpenGui(uuid)) {
+        GuiSession session = sessions.get(player.getUniqueId());
+        AbstractGui<?> gui = session == null ? null : session.openGui();
+        if (gui == null) {
             return;
         }
-        AbstractGui<?> gui = getUserOpenGui(uuid);
-        if (gui != null) {
-            gui.onDarg(e);
+        if (!acquireClick(session)) {
+            e.setCancelled(true);
+            return;
         }
+        gui.onDarg(e);
     }
 
     /**
@@ -418,8 +630,11 @@ public class GuiManager implements ListenerAdapter {
             return;
         }
         Player player = (Player) e.getPlayer();
-        UUID uuid = player.getUniqueId();
-        AbstractGui<?> alreadyOpen = getUserOpenGui(uuid);
+        GuiSession session = sessions.get(player.getUniqueId());
+        if (session == null) {
+            return;
+        }
+        AbstractGui<?> alreadyOpen = session.openGui();
         if (alreadyOpen != null) {
             alreadyOpen.onClose();
         }
@@ -427,8 +642,9 @@ public class GuiManager implements ListenerAdapter {
         if (null == e.getInventory()) {
             return;
         }
-        if (userNextOpenGui.containsKey(uuid)) {
-            AbstractGui<?> gui = userNextOpenGui.remove(uuid);
+        AbstractGui<?> gui = session.pendingGui();
+        if (gui != null) {
+            session.pendingGui(null);
             gui.onOpen();
         }
     }
@@ -459,6 +675,28 @@ public class GuiManager implements ListenerAdapter {
         }
     }
 
+    /**
+     * Handles player quit events, which are also fired for kicked players.
+     *
+     * <p>Drops the player's session, click limiter state and deferred actions, so nothing is retained for offline players.
+     *
+     * @param e the player quit event
+     */
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        UUID uuid = e.getPlayer().getUniqueId();
+        NextTickQueue.drop(uuid);
+        GuiSession session = sessions.remove(uuid);
+        if (session != null) {
+            AbstractGui<?> gui = session.openGui();
+            if (gui != null && gui.clickLimiter() != null) {
+                gui.clickLimiter().forget(uuid);
+            }
+        }
+        if (clickLimiter != null) {
+            clickLimiter.forget(uuid);
+        }
+    }
+
     /**
      * Handles plugin disable events.
      *
@@ -509,6 +747,48 @@ public class GuiManager implements ListenerAdapter {
         }
     }
 
+    /**
+     * Re-renders the buttons tagged with a topic, across the open GUIs of all players.
+     * <p>
+     * Only slots whose button reports the topic through {@link me.huanmeng.gui.gui.button.Button#topics()}
+     * are rendered again. Invalidations are batched: every topic invalidated before the next tick is
+     * handled in one pass over the open GUIs. This method can be called from any thread.
+     *
+     * @param topic the invalidated topic, e.g. {@code "shop:prices"}
+     * @see me.huanmeng.gui.gui.button.Button#tagged(me.huanmeng.gui.gui.button.Button, String...)
+     */
+    public void invalidate(@NonNull String topic) {
+        boolean schedule;
+        synchronized (invalidatedTopics) {
+            schedule = invalidatedTopics.isEmpty();
+            invalidatedTopics.add(topic);
+        }
+        if (schedule) {
+            NextTickQueue.submit(this::flushInvalidated);
+        }
+    }
+
+    private void flushInvalidated() {
+        Set<String> topics;
+        synchronized (invalidatedTopics) {
+            topics = new HashSet<>(invalidatedTopics);
+            invalidatedTopics.clear();
+        }
+        // A host shared by several open GUIs is refreshed once
+        Set<AbstractGui<?>> hosts = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (GuiSession session : sessions.values()) {
+            AbstractGui<?> gui = session.openGui();
+            if (gui == null) {
+                continue;
+            }
+            AbstractGui<?> host = gui.renderHost();
+            if (host != null && hosts.add(host)) {
+                host.refreshTopics(topics);
+            }
+            gui.refreshTopics(topics);
+        }
+    }
+
     /**
      * Returns the plugin instance that owns this GUI manager.
      *
@@ -565,14 +845,52 @@ public class GuiManager implements ListenerAdapter {
     }
 
     /**
-     * Checks if a click event is currently being processed.
-     *
-     * <p>Used to prevent recursive event handling.
+     * Checks if a click event of any player is currently being processed.
      *
      * @return true if a click event is being processed
+     * @deprecated click state is tracked per player, use {@link #processingClickEvent(UUID)}
      */
+    @Deprecated
     public boolean processingClickEvent() {
-        return processingClickEvent;
+        for (GuiSession session : sessions.values()) {
+            if (session.processingClick()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a click event of the player is currently being processed.
+     *
+     * <p>GUI operations of that player (opening, closing) are deferred to the next tick
+     * while this returns true.
+     *
+     * @param uuid the player's UUID
+     * @return true if a click event of the player is being processed
+     */
+    public boolean processingClickEvent(@NonNull UUID uuid) {
+        GuiSession session = sessions.get(uuid);
+        return session != null && session.processingClick();
+    }
+
+    /**
+     * Returns the click limiter applied to GUIs without their own limiter.
+     *
+     * @return the click limiter, or null if clicks are not limited
+     */
+    @Nullable
+    public ClickLimiter clickLimiter() {
+        return clickLimiter;
+    }
+
+    /**
+     * Sets the click limiter applied to GUIs without their own limiter.
+     *
+     * @param clickLimiter the click limiter, or null to disable limiting
+     */
+    public void clickLimiter(@Nullable ClickLimiter clickLimiter) {
+        this.clickLimiter = clickLimiter;
     }
 
     /**
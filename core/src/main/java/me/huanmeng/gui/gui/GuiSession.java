@@ -0,0 +1,240 @@
+package me.huanmeng.gui.gui;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * All GUI state the {@link GuiManager} keeps for one online player.
+ * <p>
+ * A session is created the first time a GUI is opened for a player and removed when the player
+ * leaves the server, so the state of offline players is never retained.
+ * Event handlers look the session up once and read everything they need from it.
+ * <p>
+ * The back stack and the live instances may be touched from any thread and are guarded by the session itself.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ * @see GuiManager#session(UUID)
+ */
+public final class GuiSession {
+    @NonNull
+    private final UUID uuid;
+
+    /**
+     * The GUI currently open for the player.
+     */
+    @Nullable
+    private volatile AbstractGui<?> openGui;
+
+    /**
+     * The GUI about to be opened, set between building its inventory and the open event.
+     */
+    @Nullable
+    private volatile AbstractGui<?> pendingGui;
+
+    /**
+     * Whether a click event of the player is currently being processed.
+     */
+    private volatile boolean processingClick;
+
+    /**
+     * The {@link HGui} navigation history, not containing the current GUI.
+     */
+    @NonNull
+    private final Deque<HGui.Node> backStack = new ArrayDeque<>();
+
+    /**
+     * Recently left {@link HGui} instances per back stack node, least recently cached first.
+     */
+    @NonNull
+    private final LinkedHashMap<HGui.Node, LiveEntry> liveGuis = new LinkedHashMap<>();
+
+    GuiSession(@NonNull UUID uuid) {
+        this.uuid = uuid;
+    }
+
+    /**
+     * Gets the player's unique identifier.
+     *
+     * @return the player's UUID
+     */
+    @NonNull
+    public UUID uuid() {
+        return uuid;
+    }
+
+    /**
+     * Gets the GUI currently open for the player.
+     *
+     * @return the open GUI, or null if none is open
+     */
+    @Nullable
+    public AbstractGui<?> openGui() {
+        return openGui;
+    }
+
+    void openGui(@Nullable AbstractGui<?> openGui) {
+        this.openGui = openGui;
+    }
+
+    /**
+     * Gets the GUI about to be opened for the player.
+     *
+     * @return the pending GUI, or null if none is being opened
+     */
+    @Nullable
+    public AbstractGui<?> pendingGui() {
+        return pendingGui;
+    }
+
+    void pendingGui(@Nullable AbstractGui<?> pendingGui) {
+        this.pendingGui = pendingGui;
+    }
+
+    /**
+     * Checks if a click event of the player is currently being processed.
+     *
+     * @return true if a click event is being processed
+     */
+    public boolean processingClick() {
+        return processingClick;
+    }
+
+    void processingClick(boolean processingClick) {
+        this.processingClick = processingClick;
+    }
+
+    /**
+     * Pushes a node onto the back stack, evicting the oldest nodes until both limits are met.
+     * The pushed node itself is always kept. Live instances older than {@code maxAge} are released.
+     *
+     * @param node        the node to push
+     * @param maxDepth    the maximum number of nodes
+     * @param maxMetadata the maximum number of metadata entries across all nodes
+     * @param maxAge      the maximum age in milliseconds of a live instance
+     */
+    synchronized void pushBack(HGui.@NonNull Node node, int maxDepth, int maxMetadata, long maxAge) {
+        evictLive(maxAge);
+        backStack.push(node);
+        int metadata = 0;
+        for (HGui.Node n : backStack) {
+            metadata += n.metadataSize();
+        }
+        while (backStack.size() > 1 && (backStack.size() > maxDepth || metadata > maxMetadata)) {
+            HGui.Node evicted = backStack.removeLast();
+            metadata -= evicted.metadataSize();
+            liveGuis.remove(evicted);
+        }
+    }
+
+    /**
+     * Keeps the live instance of a left GUI for the node pointing back to it, releasing instances
+     * older than {@code maxAge} and evicting the least recently cached instances beyond {@code maxCount}.
+     *
+     * @param node     the back stack node
+     * @param gui      the left GUI
+     * @param maxCount the maximum number of live instances kept
+     * @param maxAge   the maximum age in milliseconds of a live instance
+     */
+    synchronized void cacheLive(HGui.@NonNull Node node, @NonNull HGui gui, int maxCount, long maxAge) {
+        evictLive(maxAge);
+        liveGuis.put(node, new LiveEntry(gui, System.currentTimeMillis()));
+        Iterator<LiveEntry> iterator = liveGuis.values().iterator();
+        while (liveGuis.size() > maxCount && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Releases the live instances older than {@code maxAge}, which {@link #takeLive} would not return anymore.
+     */
+    private void evictLive(long maxAge) {
+        if (liveGuis.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        liveGuis.values().removeIf(entry -> now - entry.time > maxAge);
+    }
+
+    /**
+     * Removes and returns the live instance cached for a node.
+     *
+     * @param node   the back stack node
+     * @param maxAge the maximum age in milliseconds of a usable instance
+     * @return the cached instance, or null if none or it is too old
+     */
+    @Nullable
+    synchronized HGui takeLive(HGui.@NonNull Node node, long maxAge) {
+        LiveEntry entry = liveGuis.remove(node);
+        if (entry == null || System.currentTimeMillis() - entry.time > maxAge) {
+            return null;
+        }
+        return entry.gui;
+    }
+
+    /**
+     * Gets how many live {@link HGui} instances are kept for back navigation.
+     *
+     * @return the live instance count
+     */
+    public synchronized int liveGuis() {
+        return liveGuis.size();
+    }
+
+    /**
+     * Clears the back stack together with the live instances kept for it.
+     */
+    public synchronized void clearBackStack() {
+        backStack.clear();
+        liveGuis.clear();
+    }
+
+    /**
+     * Removes and returns the most recent node of the back stack.
+     *
+     * @return the most recent node, or null if the back stack is empty
+     */
+    synchronized HGui.@Nullable Node popBack() {
+        return backStack.poll();
+    }
+
+    /**
+     * Gets how many nodes the back stack holds.
+     *
+     * @return the back stack depth
+     */
+    public synchronized int backStackSize() {
+        return backStack.size();
+    }
+
+    /**
+     * Gets the {@link HGui} navigation history of the player, most recent first.
+     *
+     * @return an unmodifiable snapshot of the back stack
+     */
+    @NonNull
+    public synchronized List<HGui.Node> backStack() {
+        return Collections.unmodifiableList(new ArrayList<>(backStack));
+    }
+
+    private static final class LiveEntry {
+        @NonNull
+        private final HGui gui;
+        private final long time;
+
+        LiveEntry(@NonNull HGui gui, long time) {
+            this.gui = gui;
+            this.time = time;
+        }
+    }
+}
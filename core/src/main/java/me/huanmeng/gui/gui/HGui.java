@@ -1,16 +1,16 @@
 package me.huanmeng.gui.gui;
 
+import me.huanmeng.gui.gui.impl.AbstractGuiCustom;
+import me.huanmeng.gui.scheduler.Schedulers;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import org.bukkit.entity.Player;
 import org.jspecify.annotations.NonNull;
@@ -95,12 +95,6 @@ public abstract class HGui {
      */
     protected BiFunction<Player, Boolean, List<Object>> newInstanceValuesFunction;
 
-    /**
-     * Global map storing navigation history stack for each player.
-     * <br>Stack contains GUIs that can be returned to (NOT the current GUI).
-     */
-    public static final Map<Player, Deque<Node>> BACK_STACK = new ConcurrentHashMap<>();
-
     /**
      * Creates a new HGui without back navigation support.
      *
@@ -181,8 +175,8 @@ public abstract class HGui {
         // Get the current HGui from the currently open GUI (if any)
         HGui fromHGui = null;
         AbstractGui<?> currentGui = GuiManager.instance().getUserOpenGui(context.getPlayer().getUniqueId());
-        if (currentGui != null && currentGui.metadata.containsKey("wrapper")) {
-            fromHGui = (HGui) currentGui.metadata.get("wrapper");
+        if (currentGui != null && currentGui.metadata().containsKey("wrapper")) {
+            fromHGui = (HGui) currentGui.metadata().get("wrapper");
         }
         openInternal(false, fromHGui);
     }
@@ -194,6 +188,10 @@ public abstract class HGui {
      * @param fromHGui the HGui we are navigating from (to push to stack), or null
      */
     private void openInternal(boolean isBack, @Nullable HGui fromHGui) {
+        if (!context.getPlayer().isOnline()) {
+            // A deferred open or back action arriving after the player quit
+            return;
+        }
         AbstractGui<?> g = gui();
         if (g == null) {
             return;
@@ -204,12 +202,17 @@ public abstract class HGui {
 
         // Push the fromHGui to stack if provided and not back navigation
         if (!isBack && fromHGui != null && fromHGui.constructorHandle != null && allowBack) {
-            Deque<Node> stack = BACK_STACK.computeIfAbsent(context.getPlayer(), k -> new ArrayDeque<>());
-            stack.push(new Node(fromHGui.constructorHandle, fromHGui.newInstanceValuesFunction, fromHGui.context.getMetadata()));
+            GuiManager manager = GuiManager.instance();
+            GuiSession session = manager.session(context.getPlayer().getUniqueId());
+            Node node = new Node(fromHGui.constructorHandle, fromHGui.newInstanceValuesFunction, new HashMap<>(fromHGui.context.getMetadata()));
+            session.pushBack(node, manager.maxBackStackDepth(), manager.maxBackStackMetadata(), manager.liveBackCacheAge());
+            if (manager.liveBackCacheSize() > 0 && fromHGui.context.getGui() instanceof AbstractGuiCustom) {
+                session.cacheLive(node, fromHGui, manager.liveBackCacheSize(), manager.liveBackCacheAge());
+            }
         }
 
         // Store reference to this wrapper
-        g.metadata.put("wrapper", this);
+        g.metadata().put("wrapper", this);
 
         // Setup back navigation handler
         setupBackHandler(g);
@@ -228,18 +231,28 @@ public abstract class HGui {
     private void setupBackHandler(AbstractGui<?> g) {
         g.backRunner(() -> {
             Player player = context.getPlayer();
-            Deque<Node> stack = BACK_STACK.get(player);
+            GuiManager manager = GuiManager.instance();
+            GuiSession session = manager.getSession(player.getUniqueId());
+            Node prev = session != null && player.isOnline() ? session.popBack() : null;
 
-            // No history to go back to
-            if (stack == null || stack.isEmpty()) {
-                BACK_STACK.remove(player);
+            // No history to go back to, or the player already quit
+            if (prev == null) {
                 g.close(false, true);
                 return;
             }
 
+            // Reopen the previous GUI if it is still alive
+            HGui liveGui = session.takeLive(prev, manager.liveBackCacheAge());
+            if (liveGui != null) {
+                liveGui.from = this;
+                liveGui.fromGui = g;
+                ((AbstractGuiCustom<?>) liveGui.context.getGui()).reopen();
+                liveGui.whenOpen();
+                return;
+            }
+
             try {
-                // Pop and rebuild the previous GUI
-                Node prev = stack.pop();
+                // Rebuild the previous GUI
                 HGui prevGui = rebuildGui(prev, player);
 
                 // Set navigation context (for page state preservation)
@@ -274,13 +287,15 @@ public abstract class HGui {
      * Sets up cleanup when GUI is closed.
      */
     private void setupCloseHandler(AbstractGui<?> g) {
-        g.whenClose(gui -> g.scheduler().runLater(() -> {
+        // On the main thread, like the navigation that pushes to and pops from the stack
+        g.whenClose(gui -> Schedulers.sync().runLater(() -> {
             Player player = context.getPlayer();
             UUID uuid = player.getUniqueId();
 
             // If player has no GUI open, clean up the stack
-            if (!GuiManager.instance().isOpenGui(uuid)) {
-                BACK_STACK.remove(player);
+            GuiSession session = GuiManager.instance().getSession(uuid);
+            if (session != null && session.openGui() == null) {
+                session.clearBackStack();
             }
         }, 1));
     }
@@ -319,7 +334,10 @@ public abstract class HGui {
      * @param player the player whose stack to clear
      */
     public static void clearStack(Player player) {
-        BACK_STACK.remove(player);
+        GuiSession session = GuiManager.instance().getSession(player.getUniqueId());
+        if (session != null) {
+            session.clearBackStack();
+        }
     }
 
     /**
@@ -329,8 +347,8 @@ public abstract class HGui {
      * @return the number of GUIs in the back stack
      */
     public static int getStackSize(Player player) {
-        Deque<Node> stack = BACK_STACK.get(player);
-        return stack == null ? 0 : stack.size();
+        GuiSession session = GuiManager.instance().getSession(player.getUniqueId());
+        return session == null ? 0 : session.backStackSize();
     }
 
     /**
@@ -346,5 +364,14 @@ public abstract class HGui {
             this.newInstanceValuesFunction = newInstanceValuesFunction;
             this.metadata = metadata;
         }
+
+        /**
+         * Gets how many metadata entries this node retains.
+         *
+         * @return the metadata entry count
+         */
+        public int metadataSize() {
+            return metadata.size();
+        }
     }
 }
@@ -2,6 +2,7 @@ package me.huanmeng.gui.gui.button;
 
 import me.huanmeng.gui.gui.button.function.PlayerClickInterface;
 import me.huanmeng.gui.gui.button.function.PlayerItemInterface;
+import me.huanmeng.gui.gui.enums.ItemOwnership;
 import me.huanmeng.gui.gui.enums.Result;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -63,6 +64,31 @@ public class BaseButton implements Button {
         return userItemInterface.get(player);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Delegates to the item interface if present, otherwise returns {@link ItemOwnership#IMMUTABLE}.
+     * </p>
+     */
+    @Override
+    public @NonNull ItemOwnership itemOwnership() {
+        if (userItemInterface == null) {
+            return ItemOwnership.IMMUTABLE;
+        }
+        return userItemInterface.ownership();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A button without an item interface, or with a static one, is static.
+     * </p>
+     */
+    @Override
+    public boolean isStatic() {
+        return userItemInterface == null || userItemInterface.isStatic();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -2,10 +2,13 @@ package me.huanmeng.gui.gui.button;
 
 import me.huanmeng.gui.gui.button.function.PlayerClickInterface;
 import me.huanmeng.gui.gui.button.function.PlayerItemInterface;
+import me.huanmeng.gui.gui.enums.ItemOwnership;
 import me.huanmeng.gui.gui.enums.Result;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -64,6 +67,46 @@ public interface Button {
         return Result.CANCEL;
     }
 
+    /**
+     * Declares who may hold a reference to the stacks returned by {@link #getShowItem(Player)}.
+     *
+     * @return the ownership of displayed stacks, {@link ItemOwnership#SHARED} by default
+     * @see PlayerItemInterface#ownership()
+     */
+    @NonNull
+    default ItemOwnership itemOwnership() {
+        return ItemOwnership.SHARED;
+    }
+
+    /**
+     * Checks whether {@link #getShowItem(Player)} always returns the same item, whoever views it.
+     * <p>
+     * Static buttons, such as borders built with {@link #of(ItemStack)}, are skipped when a GUI
+     * refreshes on tick. Buttons are dynamic by default.
+     * </p>
+     *
+     * @return true if the displayed item never changes
+     * @see PlayerItemInterface#isStatic()
+     */
+    default boolean isStatic() {
+        return false;
+    }
+
+    /**
+     * Gets the invalidation topics of this button.
+     * <p>
+     * When one of these topics is invalidated through {@link me.huanmeng.gui.gui.GuiManager#invalidate(String)},
+     * every slot showing this button is re-rendered in all open GUIs.
+     * </p>
+     *
+     * @return the topics of this button, empty by default
+     * @see #tagged(Button, String...)
+     */
+    @NonNull
+    default Set<String> topics() {
+        return Collections.emptySet();
+    }
+
 
     /**
      * Creates a display-only button with a dynamic item provider.
@@ -289,6 +332,18 @@ public interface Button {
         return itemStacks.stream().map(map).map(Button::ofInstance).collect(Collectors.toList());
     }
 
+    /**
+     * Tags a button with invalidation topics, such as {@code "economy:balance:<uuid>"} or {@code "shop:prices"}.
+     *
+     * @param button the button to tag
+     * @param topics the topics re-rendering the button when invalidated
+     * @return a button delegating to the given one and reporting the topics
+     * @see me.huanmeng.gui.gui.GuiManager#invalidate(String)
+     */
+    static Button tagged(@NonNull Button button, @NonNull String... topics) {
+        return new TaggedButton(button, topics);
+    }
+
     /**
      * Returns an empty button that displays no item.
      *
@@ -0,0 +1,84 @@
+package me.huanmeng.gui.gui.button;
+
+import me.huanmeng.gui.gui.enums.ItemOwnership;
+import me.huanmeng.gui.gui.enums.Result;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A button reporting invalidation topics on top of a delegate button.
+ * <p>
+ * Display and click handling are delegated unchanged; the topics of the delegate are kept as well.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ * @see Button#tagged(Button, String...)
+ */
+public class TaggedButton implements Button {
+    /**
+     * The wrapped button.
+     */
+    @NonNull
+    private final Button button;
+
+    /**
+     * The topics of this button, including those of the wrapped button.
+     */
+    @NonNull
+    private final Set<String> topics;
+
+    /**
+     * Constructs a new TaggedButton.
+     *
+     * @param button the button to wrap
+     * @param topics the topics to report
+     */
+    public TaggedButton(@NonNull Button button, @NonNull String... topics) {
+        this.button = button;
+        Set<String> set = new HashSet<>(button.topics());
+        set.addAll(Arrays.asList(topics));
+        this.topics = Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Gets the wrapped button.
+     *
+     * @return the wrapped button
+     */
+    @NonNull
+    public Button button() {
+        return button;
+    }
+
+    @Override
+    public @Nullable ItemStack getShowItem(@NonNull Player player) {
+        return button.getShowItem(player);
+    }
+
+    @Override
+    public @NonNull Result onClick(@NonNull ClickData clickData) {
+        return button.onClick(clickData);
+    }
+
+    @Override
+    public @NonNull ItemOwnership itemOwnership() {
+        return button.itemOwnership();
+    }
+
+    @Override
+    public boolean isStatic() {
+        return button.isStatic();
+    }
+
+    @Override
+    public @NonNull Set<String> topics() {
+        return topics;
+    }
+}
@@ -0,0 +1,38 @@
+package me.huanmeng.gui.gui.button.function;
+
+import me.huanmeng.gui.gui.button.ClickData;
+import me.huanmeng.gui.gui.enums.Result;
+import org.jspecify.annotations.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Functional interface for button click handlers whose result is computed asynchronously.
+ * <p>
+ * Use {@link PlayerClickInterface#async(AsyncPlayerClickInterface)} to turn it into a regular click handler.
+ * The returned future may complete on any thread; its result is always applied on the main thread.
+ *
+ * <p><b>Example:</b>
+ * <pre>{@code
+ * Button.of(item, PlayerClickInterface.async(clickData ->
+ *         economy.withdraw(clickData.player, 100)
+ *                 .thenApply(success -> success ? Result.CANCEL_UPDATE : Result.CANCEL_CLOSE)));
+ * }</pre>
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ * @see Result#pending(CompletableFuture)
+ */
+@FunctionalInterface
+public interface AsyncPlayerClickInterface {
+
+    /**
+     * Handles a button click event.
+     * This is called on the main thread and must not block.
+     *
+     * @param clickData comprehensive data about the click event
+     * @return a future providing the result indicating how to handle the event
+     */
+    @NonNull
+    CompletableFuture<Result> onClick(@NonNull ClickData clickData);
+}
@@ -2,6 +2,11 @@ package me.huanmeng.gui.gui.button.function;
 
 import me.huanmeng.gui.gui.button.ClickData;
 import me.huanmeng.gui.gui.enums.Result;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.bukkit.entity.Player;
 import org.jspecify.annotations.NonNull;
@@ -73,6 +78,79 @@ public interface PlayerClickInterface {
         return new DefaultClickHandler(result, clickData -> clickDataConsumer.accept(clickData.player));
     }
 
+    /**
+     * Creates a click handler whose result is computed asynchronously.
+     *
+     * @param click the asynchronous handler
+     * @return a PlayerClickInterface returning a {@link Result#pending(CompletableFuture) pending} result
+     */
+    static PlayerClickInterface async(@NonNull AsyncPlayerClickInterface click) {
+        return clickData -> Result.pending(click.onClick(clickData));
+    }
+
+    /**
+     * Wraps a click handler so that each player can trigger it at most once per interval.
+     * <p>
+     * Clicks arriving within the interval after the last accepted click of the same player are
+     * cancelled without calling the handler. This is useful for expensive actions such as purchases.
+     * </p>
+     *
+     * @param interval the minimum time between two accepted clicks of a player
+     * @param unit     the unit of the interval
+     * @param click    the handler to protect
+     * @return a debounced PlayerClickInterface
+     */
+    static PlayerClickInterface debounce(long interval, @NonNull TimeUnit unit, @NonNull PlayerClickInterface click) {
+        return new DebouncedClickHandler(unit.toNanos(interval), click);
+    }
+
+    /**
+     * A click handler that ignores clicks of a player arriving too soon after their last accepted one.
+     */
+    class DebouncedClickHandler implements PlayerClickInterface {
+        /**
+         * The minimum time between two accepted clicks, in nanoseconds.
+         */
+        private final long intervalNanos;
+
+        /**
+         * The protected handler.
+         */
+        @NonNull
+        private final PlayerClickInterface click;
+
+        /**
+         * The time of the last accepted click per player.
+         */
+        private final Map<UUID, Long> lastClicks = new ConcurrentHashMap<>();
+
+        /**
+         * Constructs a debounced handler.
+         *
+         * @param intervalNanos the minimum time between two accepted clicks, in nanoseconds
+         * @param click         the handler to protect
+         */
+        public DebouncedClickHandler(long intervalNanos, @NonNull PlayerClickInterface click) {
+            this.intervalNanos = intervalNanos;
+            this.click = click;
+        }
+
+        @Override
+        public Result onClick(@NonNull ClickData clickData) {
+            long now = System.nanoTime();
+            UUID uuid = clickData.player.getUniqueId();
+            Long last = lastClicks.get(uuid);
+            if (last != null && now - last < intervalNanos) {
+                return Result.CANCEL;
+            }
+            if (lastClicks.size() > 64) {
+                lastClicks.values().removeIf(time -> now - time >= intervalNanos);
+            }
+            lastClicks.put(uuid, now);
+            return click.onClick(clickData);
+        }
+    }
+
     /**
      * Default implementation of PlayerClickInterface that executes an optional consumer
      * and returns a specified result.
@@ -1,5 +1,6 @@
 package me.huanmeng.gui.gui.button.function;
 
+import me.huanmeng.gui.gui.enums.ItemOwnership;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jspecify.annotations.NonNull;
@@ -34,6 +35,32 @@ public interface PlayerItemInterface {
     @Nullable
     ItemStack get(@NonNull Player player);
 
+    /**
+     * Declares who may hold a reference to the stacks returned by {@link #get(Player)}.
+     * <p>
+     * Providers that build a new stack on every call, or that never mutate the stack they return,
+     * can override this so the library skips its defensive copy.
+     * </p>
+     *
+     * @return the ownership of returned stacks, {@link ItemOwnership#SHARED} by default
+     */
+    @NonNull
+    default ItemOwnership ownership() {
+        return ItemOwnership.SHARED;
+    }
+
+    /**
+     * Checks whether {@link #get(Player)} always returns the same item, whoever asks.
+     * <p>
+     * Buttons with a static provider are skipped when a GUI refreshes on tick.
+     * </p>
+     *
+     * @return true if the item never changes, false by default
+     */
+    default boolean isStatic() {
+        return false;
+    }
+
     /**
      * Creates a static item provider that always returns the same ItemStack.
      * <p>
@@ -48,6 +75,86 @@ public interface PlayerItemInterface {
         return new StaticItemProvider(itemStack);
     }
 
+    /**
+     * Creates a static item provider whose ItemStack is promised never to be mutated.
+     * <p>
+     * The stack is handed to the inventory without a defensive copy, so it must not be
+     * modified after being passed here.
+     * </p>
+     *
+     * @param itemStack the ItemStack to always return
+     * @return a PlayerItemInterface declaring {@link ItemOwnership#IMMUTABLE}
+     */
+    static PlayerItemInterface ofImmutable(ItemStack itemStack) {
+        return owned(new StaticItemProvider(itemStack), ItemOwnership.IMMUTABLE);
+    }
+
+    /**
+     * Wraps a provider that creates a new ItemStack on every call.
+     * <p>
+     * The returned stacks are handed to the inventory without a defensive copy.
+     * </p>
+     *
+     * @param provider the provider creating a new stack per call
+     * @return a PlayerItemInterface declaring {@link ItemOwnership#FRESH}
+     */
+    static PlayerItemInterface fresh(@NonNull PlayerItemInterface provider) {
+        return owned(provider, ItemOwnership.FRESH);
+    }
+
+    /**
+     * Wraps a provider and declares the ownership of the stacks it returns.
+     *
+     * @param provider  the provider to wrap
+     * @param ownership the ownership of returned stacks
+     * @return a PlayerItemInterface declaring the given ownership
+     */
+    static PlayerItemInterface owned(@NonNull PlayerItemInterface provider, @NonNull ItemOwnership ownership) {
+        return new OwnedItemProvider(provider, ownership);
+    }
+
+    /**
+     * Wraps a player-independent provider whose item is computed once per server tick and shared
+     * by every GUI rendering it during that tick.
+     *
+     * @param provider the provider, whose item must not depend on the player
+     * @return a shared provider declaring {@link ItemOwnership#IMMUTABLE}
+     * @see #shared(PlayerItemInterface, long)
+     */
+    static SharedItemProvider shared(@NonNull PlayerItemInterface provider) {
+        return new SharedItemProvider(provider, 1);
+    }
+
+    /**
+     * Wraps a player-independent provider whose item is computed once every {@code ticks} server ticks
+     * and shared by every GUI rendering it meanwhile.
+     * <p>
+     * A server-wide leaderboard head, for example, can be built once per second for all viewers with
+     * {@code PlayerItemInterface.shared(p -> leaderboardHead(), 20)}.
+     * </p>
+     *
+     * @param provider the provider, whose item must not depend on the player
+     * @param ticks    how many ticks a computed item is reused, at least 1
+     * @return a shared provider declaring {@link ItemOwnership#IMMUTABLE}
+     */
+    static SharedItemProvider shared(@NonNull PlayerItemInterface provider, long ticks) {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("ticks must be at least 1");
+        }
+        return new SharedItemProvider(provider, ticks);
+    }
+
+    /**
+     * Wraps a player-independent provider whose item is computed once and reused by every GUI
+     * until {@link SharedItemProvider#invalidate()} is called.
+     *
+     * @param provider the provider, whose item must not depend on the player
+     * @return a shared provider declaring {@link ItemOwnership#IMMUTABLE}
+     */
+    static SharedItemProvider sharedUntilInvalidated(@NonNull PlayerItemInterface provider) {
+        return new SharedItemProvider(provider, SharedItemProvider.UNTIL_INVALIDATED);
+    }
+
     /**
      * A simple implementation that always returns the same ItemStack.
      */
@@ -77,5 +184,149 @@ public interface PlayerItemInterface {
         public @Nullable ItemStack get(@NonNull Player player) {
             return this.itemStack;
         }
+
+        @Override
+        public boolean isStatic() {
+            return true;
+        }
+    }
+
+    /**
+     * A provider wrapper declaring the ownership of the delegate's stacks.
+     */
+    class OwnedItemProvider implements PlayerItemInterface {
+        /**
+         * The wrapped provider.
+         */
+        @NonNull
+        private final PlayerItemInterface provider;
+
+        /**
+         * The declared ownership.
+         */
+        @NonNull
+        private final ItemOwnership ownership;
+
+        /**
+         * Constructs a new OwnedItemProvider.
+         *
+         * @param provider  the provider to wrap
+         * @param ownership the ownership of the provider's stacks
+         */
+        public OwnedItemProvider(@NonNull PlayerItemInterface provider, @NonNull ItemOwnership ownership) {
+            this.provider = provider;
+            this.ownership = ownership;
+        }
+
+        @Override
+        public @Nullable ItemStack get(@NonNull Player player) {
+            return provider.get(player);
+        }
+
+        @Override
+        public boolean isStatic() {
+            return provider.isStatic();
+        }
+
+        @Override
+        public @NonNull ItemOwnership ownership() {
+            return ownership;
+        }
+    }
+
+    /**
+     * A provider computing a player-independent item once and sharing the stack with every caller
+     * until it expires.
+     * <p>
+     * The delegate is called with the first player asking for the item. If the delegate does not
+     * declare copy-free stacks, the computed stack is copied once, so all callers share a stack
+     * nobody else can mutate.
+     * </p>
+     */
+    class SharedItemProvider implements PlayerItemInterface {
+        /**
+         * The lifetime of items that are only recomputed when invalidated.
+         */
+        static final long UNTIL_INVALIDATED = -1;
+
+        /**
+         * The wrapped provider.
+         */
+        @NonNull
+        private final PlayerItemInterface provider;
+
+        /**
+         * How many ticks a computed item is reused, or {@link #UNTIL_INVALIDATED}.
+         */
+        private final long ticks;
+
+        /**
+         * The shared item, valid while {@link #computed} is true.
+         */
+        @Nullable
+        private ItemStack item;
+
+        /**
+         * When the shared item was computed, in milliseconds.
+         */
+        private long computedAt;
+
+        private boolean computed;
+
+        /**
+         * Constructs a new SharedItemProvider.
+         *
+         * @param provider the provider to wrap
+         * @param ticks    how many ticks a computed item is reused, or {@link #UNTIL_INVALIDATED}
+         */
+        SharedItemProvider(@NonNull PlayerItemInterface provider, long ticks) {
+            this.provider = provider;
+            this.ticks = ticks;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * Returns the shared item, computing it only if it expired or was invalidated.
+         * </p>
+         */
+        @Override
+        public synchronized @Nullable ItemStack get(@NonNull Player player) {
+            long now = System.currentTimeMillis();
+            if (computed && (ticks == UNTIL_INVALIDATED || now - computedAt < ticks * 50)) {
+                return item;
+            }
+            ItemStack itemStack = provider.get(player);
+            if (itemStack != null && !provider.ownership().isCopyFree()) {
+                itemStack = itemStack.clone();
+            }
+            item = itemStack;
+            computedAt = now;
+            computed = true;
+            return item;
+        }
+
+        /**
+         * Discards the shared item, so it is computed again the next time it is rendered.
+         * <p>
+         * Only the item is invalidated; call {@link me.huanmeng.gui.gui.AbstractGui#refresh(boolean)}
+         * on the open GUIs to show the new item right away.
+         * </p>
+         */
+        public synchronized void invalidate() {
+            computed = false;
+            item = null;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * The shared stack is handed to every inventory and must never be modified.
+         * </p>
+         */
+        @Override
+        public @NonNull ItemOwnership ownership() {
+            return ItemOwnership.IMMUTABLE;
+        }
     }
 }
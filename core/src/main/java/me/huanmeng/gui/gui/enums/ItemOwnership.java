@@ -0,0 +1,46 @@
+package me.huanmeng.gui.gui.enums;
+
+import me.huanmeng.gui.gui.button.function.PlayerItemInterface;
+import me.huanmeng.gui.gui.interfaces.GuiHandler;
+
+/**
+ * Describes who may hold a reference to an ItemStack returned by an item provider.
+ * <p>
+ * The library uses this to decide whether a defensive copy is needed before an item is
+ * handed to the inventory. Providers declare it through {@link PlayerItemInterface#ownership()}.
+ *
+ * <p><b>Ownerships:</b>
+ * <ul>
+ *   <li>{@link #SHARED} - The stack may be referenced and mutated elsewhere; it is copied before use</li>
+ *   <li>{@link #FRESH} - The stack was created for this call and nobody else references it</li>
+ *   <li>{@link #IMMUTABLE} - The stack may be shared but is never mutated after creation</li>
+ * </ul>
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ * @see GuiHandler.GuiHandlerDefaultImpl
+ */
+public enum ItemOwnership {
+    /**
+     * The stack may be aliased and mutated by others. This is the default for every provider.
+     */
+    SHARED,
+    /**
+     * A new stack is created on every call, so the caller owns it.
+     */
+    FRESH,
+    /**
+     * The same stack may be returned many times, but it is never mutated by anyone.
+     * Handlers receiving such a stack must not modify it either.
+     */
+    IMMUTABLE;
+
+    /**
+     * Checks whether a stack with this ownership can be used without a defensive copy.
+     *
+     * @return true for {@link #FRESH} and {@link #IMMUTABLE}
+     */
+    public boolean isCopyFree() {
+        return this != SHARED;
+    }
+}
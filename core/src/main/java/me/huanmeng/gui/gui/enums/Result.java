@@ -8,6 +8,8 @@ import me.huanmeng.gui.gui.slot.Slot;
 import org.bukkit.event.Cancellable;
 import org.jspecify.annotations.NonNull;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Represents the result of a button click, determining how the inventory event should be handled.
  *
@@ -26,6 +28,10 @@ import org.jspecify.annotations.NonNull;
  *   <li>{@link #INCREMENTAL} - Cancels and increases item amount (temporary until refresh)</li>
  * </ul>
  *
+ * <p>A click handler that has to wait for slow work (a database or economy service) can return
+ * {@link #pending(CompletableFuture)}; the event is cancelled right away and the eventual result is
+ * applied on the main thread once the future completes.
+ *
  * <p><b>Usage Example:</b>
  * <pre>{@code
  * Button button = Button.of(itemStack, clickData -> {
@@ -191,6 +197,55 @@ public class Result {
         return new Forward(true, forwardSlot);
     }
 
+    /**
+     * Creates a pending result whose actual result is computed asynchronously.
+     *
+     * <p>The original event is cancelled immediately and the clicked slot is marked as pending,
+     * further clicks on it are cancelled until the future completes. The completed result is then
+     * applied on the main thread, in click order per GUI, as long as the GUI is still open.
+     * If the future fails or does not complete in time, the GUI's fallback result is applied instead.
+     * Results that need the live event, such as {@link #ALLOW} or a forward, are rejected, see
+     * {@link AbstractGui#processLateResult(Result, ClickData)}.
+     *
+     * @param future the future providing the actual result
+     * @return a Pending result
+     * @see AbstractGui#asyncClickTimeout(long, Result)
+     */
+    public static Result pending(@NonNull CompletableFuture<Result> future) {
+        return new Pending(future);
+    }
+
+    /**
+     * Special result that defers the actual result to a future.
+     */
+    public static class Pending extends Result {
+        /**
+         * The future providing the actual result.
+         */
+        @NonNull
+        private final CompletableFuture<Result> future;
+
+        /**
+         * Creates a new Pending result.
+         *
+         * @param future the future providing the actual result
+         */
+        protected Pending(@NonNull CompletableFuture<Result> future) {
+            super(true);
+            this.future = future;
+        }
+
+        /**
+         * Gets the future providing the actual result.
+         *
+         * @return the future
+         */
+        @NonNull
+        public CompletableFuture<Result> future() {
+            return future;
+        }
+    }
+
     /**
      * Special result that forwards a click to another button.
      *
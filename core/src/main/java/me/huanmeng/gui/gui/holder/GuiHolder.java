@@ -53,7 +53,7 @@ public class GuiHolder<@NonNull G extends AbstractGui<G>> implements InventoryHo
      * The AbstractGui instance managing this GUI's logic and state.
      */
     @NonNull
-    private final G gui;
+    private G gui;
 
     /**
      * Creates a new GuiHolder.
@@ -96,6 +96,17 @@ public class GuiHolder<@NonNull G extends AbstractGui<G>> implements InventoryHo
         return gui;
     }
 
+    /**
+     * Rebinds this holder to another GUI.
+     *
+     * <p>Called internally by the library when a GUI takes over the open inventory of another GUI.
+     *
+     * @param gui the GUI now managing the inventory
+     */
+    public void gui(@NonNull G gui) {
+        this.gui = gui;
+    }
+
     /**
      * Sets the Bukkit inventory for this holder.
      *
@@ -2,17 +2,15 @@ package me.huanmeng.gui.gui.impl;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import me.huanmeng.gui.gui.AbstractGui;
-import me.huanmeng.gui.scheduler.Schedulers;
+import me.huanmeng.gui.scheduler.NextTickQueue;
 import me.huanmeng.gui.util.InventoryUtil;
 import me.huanmeng.gui.util.LocaleProvider;
-import me.huanmeng.gui.util.item.ItemUtil;
 import net.kyori.adventure.translation.GlobalTranslator;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
-import org.bukkit.inventory.ItemStack;
 import org.jspecify.annotations.NonNull;
 
 /**
@@ -108,6 +106,10 @@ public abstract class AbstractGuiCustom<G extends AbstractGuiCustom<@NonNull G>>
      * </ol>
      *
      * <p>
+     * With {@link me.huanmeng.gui.gui.GuiManager#inPlaceSwitch(boolean) in-place switching} enabled, a compatible
+     * inventory that is already open is taken over instead, see {@link #switchInPlace(InventoryType)}.
+     *
+     * <p>
      * The method is thread-safe: if called from an async thread or during a click event,
      * it will schedule the GUI opening on the next tick to avoid concurrency issues.
      *
@@ -123,27 +125,61 @@ public abstract class AbstractGuiCustom<G extends AbstractGuiCustom<@NonNull G>>
         }
         Runnable openInventory = () -> {
             init(title, line * 9);
+            if (switchInPlace(InventoryType.CHEST)) {
+                return;
+            }
             Inventory inventory = build(createHolder());
             fillItems(inventory, true);
             precache();
-            // Ensure the player's cursor item is not lost
-            ItemStack itemOnCursor = player.getItemOnCursor();
-            if (!ItemUtil.isAir(itemOnCursor)) {
-                player.setItemOnCursor(null);
-            }
-            player.openInventory(inventory);
-            if (!ItemUtil.isAir(itemOnCursor)) {
-                player.setItemOnCursor(itemOnCursor);
-            }
+            show(inventory);
             cache(inventory);
+            renderShadow.invalidate();
             fillItems(inventory, false);// Re-fill after opening to avoid clearing from close callback
         };
-        if (processingClickEvent || manager.processingClickEvent() || !Bukkit.isPrimaryThread()) {
-            Schedulers.sync().runLater(openInventory, 1);
+        runOpen(openInventory);
+        return self();
+    }
+
+    /**
+     * Opens this GUI again, showing the inventory built by its last {@link #openGui()}.
+     * <p>
+     * Buttons are not rebuilt: the inventory keeps its contents while closed, so only the slots whose
+     * item changed since it was last shown are written. Falls back to {@link #openGui()} if this GUI
+     * has never been opened.
+     *
+     * @return this GUI instance for method chaining
+     * @throws IllegalArgumentException if no player is set
+     */
+    @NonNull
+    @CanIgnoreReturnValue
+    public G reopen() {
+        if (player == null) {
+            throw new IllegalArgumentException("player is null");
+        }
+        if (cacheInventory == null) {
+            return openGui();
+        }
+        Inventory inventory = cacheInventory;
+        runOpen(() -> {
+            precache();
+            show(inventory);
+            cache(inventory);
+            refreshChanged();
+        });
+        return self();
+    }
+
+    /**
+     * Runs an open action now, or on the next tick while a click is being processed or off the main thread.
+     *
+     * @param openInventory the open action
+     */
+    protected void runOpen(@NonNull Runnable openInventory) {
+        if (processingClickEvent || manager.processingClickEvent(player.getUniqueId()) || !Bukkit.isPrimaryThread()) {
+            NextTickQueue.submit(player.getUniqueId(), NextTickQueue.Kind.OPEN, openInventory);
         } else {
             openInventory.run();
         }
-        return self();
     }
 
     /**
@@ -172,6 +208,9 @@ public abstract class AbstractGuiCustom<G extends AbstractGuiCustom<@NonNull G>>
      */
     @Override
     public void onClose() {
+        if (retitling) {
+            return;
+        }
         super.onClose();
         unCache();
     }
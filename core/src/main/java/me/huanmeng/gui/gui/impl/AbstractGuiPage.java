@@ -8,8 +8,6 @@ import me.huanmeng.gui.gui.impl.page.PageSetting;
 import me.huanmeng.gui.gui.slot.Slot;
 import me.huanmeng.gui.gui.slot.Slots;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -122,7 +120,7 @@ public abstract class AbstractGuiPage<G extends AbstractGuiPage<@NonNull G>> ext
      * populating to ensure clean state.
      *
      *
-     * @return a set of GuiButton instances representing all items and controls to display
+     * @return the default button set, filled with the page items to display
      * @throws IllegalArgumentException if no player is set
      */
     @Override
@@ -132,17 +130,13 @@ public abstract class AbstractGuiPage<G extends AbstractGuiPage<@NonNull G>> ext
             throw new IllegalArgumentException("player is null");
         }
         buttons.clear();
-        Set<GuiButton> buttons = new HashSet<>();
         for (PageArea pageArea : pageAreas) {
             refresh(pageArea.slots());
-            List<Button> buttonList = pageArea.getCurrentItems();
-            ArrayList<Slot> slots = new ArrayList<>(Arrays.asList(Objects.requireNonNull(pageArea.slots()).slots(self())));
-            for (Button button : buttonList) {
-                if (slots.isEmpty()) {
-                    break;
-                }
-                Slot slot = slots.remove(0);
-                buttons.add(new GuiButton(slot, button));
+            List<Button> buttonList = pageArea.getCurrentItems(this);
+            Slot[] slots = Objects.requireNonNull(pageArea.slots()).slots(self());
+            int count = Math.min(buttonList.size(), slots.length);
+            for (int i = 0; i < count; i++) {
+                buttons.add(new GuiButton(slots[i], buttonList.get(i)));
             }
             PageSetting pageSetting = pageArea.pageSetting();
             if (pageSetting != null) {
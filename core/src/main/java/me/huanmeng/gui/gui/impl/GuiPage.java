@@ -1,8 +1,10 @@
 package me.huanmeng.gui.gui.impl;
 
 import me.huanmeng.gui.gui.button.Button;
+import me.huanmeng.gui.gui.impl.page.LazyPageArea;
 import me.huanmeng.gui.gui.impl.page.PageArea;
 import me.huanmeng.gui.gui.impl.page.PageSetting;
+import me.huanmeng.gui.gui.impl.page.PageSource;
 import me.huanmeng.gui.gui.slot.Slots;
 import me.huanmeng.gui.page.Pagination;
 import org.bukkit.entity.Player;
@@ -10,6 +12,7 @@ import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * A paginated GUI implementation for displaying large collections of items across multiple pages.
@@ -85,6 +88,26 @@ public class GuiPage extends AbstractGuiPage<GuiPage> {
         this.defaultArea = pageArea(elementSlots, allItems, elementsPerPage);
     }
 
+    /**
+     * Creates a new paginated GUI reading its items from a source.
+     * <p>
+     * Only the elements of the visible page are fetched and turned into buttons, see {@link LazyPageArea}.
+     * The number of elements per page is set to the number of slots in the elementSlots parameter.
+     * </p>
+     *
+     * @param player the player who will view this GUI
+     * @param source the source of the elements to display across all pages
+     * @param mapper creates the button of an element of the visible page
+     * @param elementSlots the slots where page items will be displayed
+     * @param <T> the type of the source elements
+     */
+    public <T> GuiPage(@NonNull Player player, @NonNull PageSource<T> source, @NonNull Function<? super T, ? extends Button> mapper,
+                       @NonNull Slots elementSlots) {
+        super(player);
+        this.defaultArea = pageArea(new LazyPageArea<>(source, mapper).slots(elementSlots));
+        this.defaultArea.elementsPerPage(elementSlots.slots(this).length);
+    }
+
     /**
      * Creates a new paginated GUI without a player or initial configuration.
      * <p>
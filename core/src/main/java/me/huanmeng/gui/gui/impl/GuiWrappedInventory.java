@@ -1,6 +1,7 @@
 package me.huanmeng.gui.gui.impl;
 
 import me.huanmeng.gui.gui.slot.Slots;
+import me.huanmeng.gui.scheduler.NextTickQueue;
 import me.huanmeng.gui.scheduler.Schedulers;
 import me.huanmeng.gui.util.InventoryUtil;
 import org.bukkit.entity.Player;
@@ -115,6 +116,22 @@ public class GuiWrappedInventory extends AbstractGuiCustom<GuiWrappedInventory>
         return self();
     }
 
+    /**
+     * Refreshes the GUI from an async tick.
+     * <p>
+     * The wrapped inventory is copied as a whole, so there is nothing worth evaluating off the
+     * main thread; the refresh is simply moved to the main thread.
+     *
+     */
+    @Override
+    protected void renderAsync() {
+        Schedulers.sync().run(() -> {
+            if (isOpened()) {
+                refresh(false);
+            }
+        });
+    }
+
     /**
      * Refreshes specific slots in the GUI.
      * <p>
@@ -146,7 +163,7 @@ public class GuiWrappedInventory extends AbstractGuiCustom<GuiWrappedInventory>
     public void onClick(@NonNull InventoryClickEvent e) {
         super.onClick(e);
         setToInventory();
-        Schedulers.sync().runLater(this::setToInventory, 1);
+        NextTickQueue.submit(player.getUniqueId(), NextTickQueue.Kind.SYNC_INVENTORY, this::setToInventory);
     }
 
     /**
@@ -0,0 +1,433 @@
+package me.huanmeng.gui.gui.impl;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import me.huanmeng.gui.gui.GuiButton;
+import me.huanmeng.gui.gui.holder.GuiHolder;
+import me.huanmeng.gui.gui.slot.Slot;
+import me.huanmeng.gui.gui.slot.Slots;
+import me.huanmeng.gui.scheduler.Schedulers;
+import me.huanmeng.gui.util.InventoryUtil;
+import me.huanmeng.gui.util.LocaleProvider;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A GUI whose single inventory is viewed by many players at once.
+ * <p>
+ * The buttons of a SharedGui are rendered once, into one inventory shared by every viewer, instead of
+ * once per player. Each viewer gets a lightweight {@link Viewer} GUI that is registered with the
+ * {@link me.huanmeng.gui.gui.GuiManager} for that player: clicks on shared buttons are handled with the
+ * clicking viewer as {@link me.huanmeng.gui.gui.button.ClickData#player}.
+ *
+ * <p>
+ * Shared buttons are rendered with one of the viewers, so their items must not depend on the player.
+ * Bukkit shows the same top inventory contents to every viewer of an inventory, so personalised buttons are
+ * only possible in the player inventory: enable {@link Viewer#enablePlayerInventory(boolean)} on a viewer and
+ * add its own buttons to player inventory slots. Top inventory buttons added to a viewer are not supported.
+ *
+ * <p><b>Example:</b>
+ * <pre>{@code
+ * SharedGui board = new SharedGui();
+ * board.line(6);
+ * board.title("Auction Board");
+ * board.draw().set(Slot.of(0), Button.of(p -> currentLot(), clickData -> bid(clickData.player)));
+ * for (Player player : lobby) {
+ *     board.open(player);
+ * }
+ * }</pre>
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+public class SharedGui extends AbstractGuiCustom<@NonNull SharedGui> {
+    /**
+     * The viewer GUI of every player currently viewing this GUI
+     */
+    @NonNull
+    private final Map<UUID, Viewer> viewers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new shared GUI. The inventory is built when the first viewer opens it.
+     */
+    public SharedGui() {
+        super();
+    }
+
+    /**
+     * Shows this GUI to a player.
+     * <p>
+     * The first viewer builds and renders the shared inventory and starts the tick task;
+     * later viewers only open the already rendered inventory.
+     *
+     * @param viewer the player to show this GUI to
+     * @return the viewer GUI of the player, which can hold personalised player inventory buttons
+     */
+    @NonNull
+    @CanIgnoreReturnValue
+    public Viewer open(@NonNull Player viewer) {
+        Viewer view = viewers.get(viewer.getUniqueId());
+        if (view == null) {
+            view = new Viewer(this, viewer);
+        }
+        view.openGui();
+        return view;
+    }
+
+    /**
+     * Opens this GUI for its render viewer.
+     *
+     * @return this GUI instance for method chaining
+     * @throws IllegalArgumentException if no player is set
+     * @see #open(Player)
+     */
+    @Override
+    @NonNull
+    public SharedGui openGui() {
+        if (player == null) {
+            throw new IllegalArgumentException("player is null");
+        }
+        open(player);
+        return self();
+    }
+
+    /**
+     * Gets the viewer GUIs of all players currently viewing this GUI.
+     *
+     * @return an unmodifiable view of the viewers
+     */
+    @NonNull
+    public Collection<Viewer> viewers() {
+        return Collections.unmodifiableCollection(viewers.values());
+    }
+
+    /**
+     * Closes this GUI for every viewer.
+     */
+    public void closeAll() {
+        for (Viewer viewer : viewers.values()) {
+            viewer.close(false, true);
+        }
+    }
+
+    /**
+     * Registers a viewer whose window is being opened, building the shared inventory if needed.
+     */
+    @NonNull
+    private Inventory join(@NonNull Viewer viewer) {
+        if (player == null || !viewers.containsKey(player.getUniqueId())) {
+            // Render with a player that is actually viewing
+            setPlayer(viewer.getPlayer());
+        }
+        boolean first = viewers.isEmpty();
+        viewers.put(viewer.getPlayer().getUniqueId(), viewer);
+        if (cacheInventory == null) {
+            init(title, line * 9);
+            Inventory inventory = build(createHolder());
+            ((GuiHolder<?>) inventory.getHolder()).setInventory(inventory);
+            cacheInventory = inventory;
+            fillItems(inventory, true);
+        } else if (first) {
+            refresh(false);
+        }
+        if (first) {
+            onOpen();
+        }
+        return cacheInventory;
+    }
+
+    /**
+     * Unregisters a viewer whose window was closed, stopping this GUI when no viewer is left.
+     */
+    private void leave(@NonNull Viewer viewer) {
+        if (!viewers.remove(viewer.getPlayer().getUniqueId(), viewer)) {
+            return;
+        }
+        Iterator<Viewer> iterator = viewers.values().iterator();
+        if (!iterator.hasNext()) {
+            onClose();
+            return;
+        }
+        if (player == viewer.getPlayer()) {
+            setPlayer(iterator.next().getPlayer());
+        }
+    }
+
+    /**
+     * Renders the shared buttons once, then the dynamic and changed personalised buttons of every viewer.
+     */
+    @Override
+    public void run() {
+        super.run();
+        if (!isOpened() || !tickRefresh) {
+            return;
+        }
+        Runnable refreshViewers = () -> {
+            for (Viewer viewer : viewers.values()) {
+                if (viewer.isOpened() && viewer.needsHostTick()) {
+                    viewer.refreshPersonalised();
+                }
+            }
+        };
+        if (Bukkit.isPrimaryThread()) {
+            refreshViewers.run();
+        } else {
+            Schedulers.sync().run(refreshViewers);
+        }
+    }
+
+    /**
+     * Shows the current title to every viewer. If the server cannot change the title of an open window,
+     * the shared contents are moved to a new inventory that every viewer is switched to, so all viewers
+     * keep sharing one inventory.
+     */
+    @Override
+    protected void retitle() {
+        Inventory inventory = cacheInventory;
+        boolean reopen = false;
+        for (Viewer viewer : viewers.values()) {
+            reopen |= !viewer.showTitle(inventory);
+        }
+        if (!reopen) {
+            return;
+        }
+        Inventory retitled = build(inventory.getHolder());
+        retitled.setContents(inventory.getContents());
+        ((GuiHolder<?>) retitled.getHolder()).setInventory(retitled);
+        cacheInventory = retitled;
+        for (Viewer viewer : viewers.values()) {
+            viewer.switchTo(retitled);
+        }
+    }
+
+    /**
+     * Also ticks for the dynamic or changed personalised buttons of the viewers,
+     * which are refreshed by this GUI's tick task.
+     */
+    @Override
+    protected boolean needsTick() {
+        if (super.needsTick()) {
+            return true;
+        }
+        if (!tickRefresh) {
+            return false;
+        }
+        for (Viewer viewer : viewers.values()) {
+            if (viewer.needsHostTick()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected @NonNull SharedGui self() {
+        return this;
+    }
+
+    @Override
+    public SharedGui copy() {
+        return (SharedGui) super.copy();
+    }
+
+    @Override
+    protected SharedGui newGui() {
+        return new SharedGui();
+    }
+
+    /**
+     * The GUI of one player viewing a {@link SharedGui}.
+     * <p>
+     * Clicks on the shared inventory are resolved against the host's buttons and handled with this
+     * viewer's player. Own buttons of a viewer must be placed in the player inventory.
+     */
+    public static class Viewer extends AbstractGuiCustom<@NonNull Viewer> {
+        @NonNull
+        private final SharedGui host;
+
+        Viewer(@NonNull SharedGui host, @NonNull Player player) {
+            super(player);
+            this.host = host;
+            this.line = host.line;
+            this.title = host.title;
+            // Shared buttons are ticked by the host, personalised buttons are refreshed along with it
+            this.intervalTick = 0;
+        }
+
+        /**
+         * Checks whether the host has to tick for this viewer: a personalised button is dynamic or was changed.
+         */
+        private boolean needsHostTick() {
+            return enablePlayerInventory && needsTick();
+        }
+
+        /**
+         * Renders the dynamic and changed personalised slots, the way the host's tick renders its own.
+         */
+        private void refreshPersonalised() {
+            refreshDynamic();
+        }
+
+        /**
+         * A viewer has no tick task of its own, a change to its buttons starts the tick task of the host.
+         */
+        @Override
+        protected void startTick() {
+            host.startTick();
+        }
+
+        /**
+         * Takes the host's title and shows it in the window of the shared inventory, if open.
+         *
+         * @return false if the window shows the shared inventory and its title could not be changed
+         */
+        private boolean showTitle(@NonNull Inventory inventory) {
+            title = host.title;
+            InventoryView view = player.getOpenInventory();
+            return view.getTopInventory() != inventory
+                    || InventoryUtil.setTitle(view, GlobalTranslator.render(title, LocaleProvider.locale(player)));
+        }
+
+        /**
+         * Shows a new shared inventory in place of the current one, without closing this viewer.
+         */
+        private void switchTo(@NonNull Inventory inventory) {
+            retitling = true;
+            try {
+                show(inventory);
+            } finally {
+                retitling = false;
+            }
+            cache(inventory);
+        }
+
+        /**
+         * Gets the shared GUI this viewer is viewing.
+         *
+         * @return the host GUI
+         */
+        @NonNull
+        public SharedGui host() {
+            return host;
+        }
+
+        @Override
+        @NonNull
+        public Viewer openGui() {
+            runOpen(() -> {
+                Inventory inventory = host.join(this);
+                precache();
+                show(inventory);
+                cache(inventory);
+                fillItems(inventory, false);
+            });
+            return self();
+        }
+
+        @Override
+        public void onClose() {
+            if (retitling) {
+                return;
+            }
+            super.onClose();
+            host.leave(this);
+        }
+
+        /**
+         * Changes the title of this viewer's window only where the server supports it: reopening would
+         * take this viewer off the shared inventory. Set the title on the {@link #host()} to retitle every viewer.
+         */
+        @Override
+        protected void retitle() {
+            InventoryView view = player.getOpenInventory();
+            if (view.getTopInventory() == cacheInventory) {
+                InventoryUtil.setTitle(view, GlobalTranslator.render(title, LocaleProvider.locale(player)));
+            }
+        }
+
+        /**
+         * Renders the personalised buttons of this viewer. A full refresh also refreshes the shared buttons,
+         * without clearing the inventory every viewer is looking at.
+         */
+        @Override
+        @NonNull
+        @CanIgnoreReturnValue
+        protected Viewer fillItems(@NonNull Inventory inventory, boolean all) {
+            if (all) {
+                host.refresh(false);
+            }
+            return super.fillItems(inventory, false);
+        }
+
+        /**
+         * Refreshes the personalised slots among the given ones. Shared slots are refreshed through
+         * the {@link #host()}, once for every viewer.
+         *
+         * @param slots the slots to refresh
+         * @return this viewer for method chaining
+         */
+        @Override
+        @NonNull
+        @CanIgnoreReturnValue
+        public Viewer refresh(@NonNull Slots slots) {
+            if (!enablePlayerInventory) {
+                return self();
+            }
+            List<Slot> personal = new ArrayList<>();
+            for (Slot slot : slots.slots(self())) {
+                if (slot.isPlayer()) {
+                    personal.add(slot);
+                }
+            }
+            return super.refresh(Slots.of(personal.toArray(new Slot[0])));
+        }
+
+        @Override
+        @NonNull
+        protected SharedGui renderHost() {
+            return host;
+        }
+
+        @Override
+        @Nullable
+        protected GuiButton clickedButton(boolean player, int slot) {
+            return player ? super.clickedButton(true, slot) : host.clickedButton(false, slot);
+        }
+
+        @Override
+        @Nullable
+        public GuiButton getButton(int index, Predicate<GuiButton> predicate) {
+            GuiButton guiButton = host.getButton(index, predicate);
+            return guiButton != null ? guiButton : super.getButton(index, predicate);
+        }
+
+        @Override
+        public GuiButton getButton(Slot slot) {
+            return slot.isPlayer() ? super.getButton(slot) : host.getButton(slot);
+        }
+
+        @Override
+        protected @NonNull Viewer self() {
+            return this;
+        }
+
+        @Override
+        protected Viewer newGui() {
+            return new Viewer(host, player);
+        }
+    }
+}
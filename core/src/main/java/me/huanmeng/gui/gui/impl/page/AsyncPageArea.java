@@ -0,0 +1,401 @@
+package me.huanmeng.gui.gui.impl.page;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import me.huanmeng.gui.gui.GuiManager;
+import me.huanmeng.gui.gui.button.Button;
+import me.huanmeng.gui.gui.impl.AbstractGuiPage;
+import me.huanmeng.gui.scheduler.Schedulers;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link PageArea} whose pages are loaded from a {@link PageSource} off the main thread.
+ * <p>
+ * Changing the page never blocks: the page slots show a placeholder button until the page arrives,
+ * then every GUI that rendered the placeholders is refreshed on the main thread if it is still open.
+ * The pages before and after the shown one are prefetched in the background, and a bounded number of
+ * loaded pages is kept. The element count is fetched along with every page, so navigation buttons
+ * appear once it is known. A page that failed to load is retried with an increasing delay while an open
+ * GUI shows it.
+ *
+ * <p>
+ * {@link PageSource#size()}, {@link PageSource#fetch(int, int)} and the mapper run on the async scheduler
+ * and must not touch the world.
+ *
+ * <p><b>Example:</b>
+ * <pre>{@code
+ * CustomGuiPage gui = new CustomGuiPage(player);
+ * gui.pageArea(new AsyncPageArea<>(mailbox, mail -> Button.of(mail.icon()), Button.of(loadingItem))
+ *         .slots(pageSlots)
+ *         .elementsPerPage(45));
+ * }</pre>
+ *
+ * @param <T> the type of the source elements
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ * @see LazyPageArea
+ */
+public class AsyncPageArea<T> extends PageArea {
+    /**
+     * The default number of loaded pages kept
+     */
+    public static final int DEFAULT_CACHED_PAGES = 5;
+
+    /**
+     * Delay in ticks before a failed page is loaded again, doubled on every further failure
+     */
+    private static final long RETRY_DELAY = 20;
+
+    /**
+     * Maximum delay in ticks before a failed page is loaded again
+     */
+    private static final long MAX_RETRY_DELAY = 1200;
+
+    @NonNull
+    private PageSource<?> source;
+
+    @NonNull
+    private Function<Object, ? extends Button> mapper;
+
+    @NonNull
+    private final Button placeholder;
+
+    /**
+     * Loaded and loading pages by page number, least recently used first
+     */
+    @NonNull
+    private final LinkedHashMap<Integer, Page> pages;
+
+    /**
+     * The element count, or -1 until the first page arrived
+     */
+    private volatile int size = -1;
+
+    /**
+     * Incremented by {@link #invalidate()}, so loads started before are dropped
+     */
+    private int generation;
+
+    /**
+     * Captured on creation, so failed loads can still be logged while the manager is closing
+     */
+    @NonNull
+    private final Logger logger;
+
+    /**
+     * Creates an asynchronous page area showing no item while a page loads.
+     *
+     * @param source the element source
+     * @param mapper creates the button of an element, called off the main thread
+     */
+    public AsyncPageArea(@NonNull PageSource<T> source, @NonNull Function<? super T, ? extends Button> mapper) {
+        this(source, mapper, Button.empty(), DEFAULT_CACHED_PAGES);
+    }
+
+    /**
+     * Creates an asynchronous page area.
+     *
+     * @param source      the element source
+     * @param mapper      creates the button of an element, called off the main thread
+     * @param placeholder the button shown in the page slots while a page loads
+     */
+    public AsyncPageArea(@NonNull PageSource<T> source, @NonNull Function<? super T, ? extends Button> mapper,
+                         @NonNull Button placeholder) {
+        this(source, mapper, placeholder, DEFAULT_CACHED_PAGES);
+    }
+
+    /**
+     * Creates an asynchronous page area.
+     *
+     * @param source      the element source
+     * @param mapper      creates the button of an element, called off the main thread
+     * @param placeholder the button shown in the page slots while a page loads
+     * @param cachedPages the maximum number of loaded pages kept, at least 3 to hold the prefetched neighbours
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncPageArea(@NonNull PageSource<T> source, @NonNull Function<? super T, ? extends Button> mapper,
+                         @NonNull Button placeholder, int cachedPages) {
+        if (cachedPages < 3) {
+            throw new IllegalArgumentException("cachedPages must be at least 3");
+        }
+        this.source = source;
+        // Only ever applied to elements of the source it was given with
+        this.mapper = (Function<Object, ? extends Button>) (Function<?, ?>) mapper;
+        this.placeholder = placeholder;
+        this.pages = new LinkedHashMap<Integer, Page>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+                return size() > cachedPages;
+            }
+        };
+        this.items = new SizeList();
+        GuiManager manager = GuiManager.instance();
+        this.logger = manager != null ? manager.plugin().getLogger() : Logger.getLogger(AsyncPageArea.class.getName());
+        refreshPagination();
+    }
+
+    /**
+     * Gets the source the items are loaded from.
+     *
+     * @return the element source, reading buttons after {@link #items(List)} was called
+     */
+    @NonNull
+    public PageSource<?> source() {
+        return source;
+    }
+
+    /**
+     * Checks whether a page has been loaded and is still kept.
+     *
+     * @param page the page number (1-indexed)
+     * @return true if the page is loaded
+     */
+    public synchronized boolean isLoaded(int page) {
+        Page loaded = pages.get(page);
+        return loaded != null && loaded.buttons != null;
+    }
+
+    /**
+     * Drops every loaded page and ignores loads still running, so pages are loaded again when shown.
+     * Call this after the source changed, then refresh the GUI.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        pages.clear();
+    }
+
+    /**
+     * Gets the buttons of the current page, or placeholders while it loads, without a GUI to refresh
+     * once it arrives.
+     *
+     * @return the buttons of the current page
+     */
+    @Override
+    public List<Button> getCurrentItems() {
+        return currentItems(null);
+    }
+
+    /**
+     * Gets the buttons of the current page, or placeholders while it loads. The GUI is refreshed once
+     * the page arrives. Requesting a page also prefetches its neighbours.
+     *
+     * @param gui the GUI rendering this area
+     * @return the buttons of the current page
+     */
+    @Override
+    public List<Button> getCurrentItems(@NonNull AbstractGuiPage<?> gui) {
+        return currentItems(gui);
+    }
+
+    @NonNull
+    private List<Button> currentItems(@Nullable AbstractGuiPage<?> gui) {
+        if (elementsPerPage <= 0 || currentPage <= 0) {
+            return Collections.emptyList();
+        }
+        List<Button> buttons = request(currentPage, gui);
+        if (currentPage > 1) {
+            request(currentPage - 1, null);
+        }
+        if (size < 0 || currentPage < getMaxPage()) {
+            request(currentPage + 1, null);
+        }
+        if (buttons != null) {
+            return buttons;
+        }
+        int size = this.size;
+        int count = size < 0 ? elementsPerPage : Math.min(elementsPerPage, size - (currentPage - 1) * elementsPerPage);
+        return count <= 0 ? Collections.emptyList() : Collections.nCopies(count, placeholder);
+    }
+
+    /**
+     * Sets the number of elements per page, dropping the loaded pages.
+     *
+     * @param elementsPerPage the number of elements per page
+     * @return this PageArea for method chaining
+     */
+    @Override
+    @CanIgnoreReturnValue
+    public PageArea elementsPerPage(int elementsPerPage) {
+        if (elementsPerPage != this.elementsPerPage) {
+            invalidate();
+        }
+        return super.elementsPerPage(elementsPerPage);
+    }
+
+    /**
+     * Replaces the source with one reading from a list of buttons, dropping the loaded pages.
+     * The list is not copied, call {@link #invalidate()} after modifying it.
+     *
+     * @param items the buttons to paginate
+     * @return this PageArea for method chaining
+     */
+    @Override
+    @CanIgnoreReturnValue
+    public PageArea items(List<Button> items) {
+        synchronized (this) {
+            this.source = PageSource.of(items);
+            this.mapper = Button.class::cast;
+            invalidate();
+        }
+        this.size = -1;
+        refreshPagination();
+        return this;
+    }
+
+    /**
+     * Gets a loaded page, starting to load it if it is neither loaded nor loading.
+     * A page that failed to load is only loaded again once its retry delay passed.
+     *
+     * @param gui the GUI showing the page, refreshed when it arrives, or null for a prefetch
+     * @return the buttons of the page, or null while it loads
+     */
+    @Nullable
+    private synchronized List<Button> request(int number, @Nullable AbstractGuiPage<?> gui) {
+        Page page = pages.get(number);
+        if (page == null) {
+            page = new Page();
+            pages.put(number, page);
+        }
+        if (page.buttons != null) {
+            return page.buttons;
+        }
+        if (gui != null) {
+            page.waiting.removeIf(waiting -> !waiting.isOpened());
+            page.waiting.add(gui);
+        }
+        if (!page.loading && System.currentTimeMillis() >= page.retryAt) {
+            page.loading = true;
+            load(number, page, generation, elementsPerPage, source, mapper);
+        }
+        return null;
+    }
+
+    private void load(int number, @NonNull Page page, int generation, int limit,
+                      @NonNull PageSource<?> source, @NonNull Function<Object, ? extends Button> mapper) {
+        Schedulers.async().run(() -> {
+            try {
+                int total = source.size();
+                List<Button> buttons = PageSource.fetch(source, (number - 1) * limit, limit, mapper);
+                Schedulers.sync().run(() -> commit(number, page, generation, total, buttons));
+            } catch (Throwable e) {
+                long delay;
+                synchronized (this) {
+                    page.loading = false;
+                    delay = Math.min(MAX_RETRY_DELAY, RETRY_DELAY << Math.min(page.failures, 6));
+                    page.failures++;
+                    page.retryAt = System.currentTimeMillis() + delay * 50;
+                }
+                logger.log(Level.SEVERE, "An error occurred while loading page " + number + ", retrying in " + delay + " ticks: ", e);
+                try {
+                    Schedulers.async().runLater(() -> retry(number, page, generation), delay);
+                } catch (Throwable ignored) {
+                    // The manager is closing, the page is loaded again if it is ever shown
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads a failed page again if it is still kept and an open GUI is waiting for it.
+     * Otherwise it is loaded when shown next, once its retry delay passed.
+     */
+    private synchronized void retry(int number, @NonNull Page page, int generation) {
+        if (generation != this.generation || pages.get(number) != page || page.loading || page.buttons != null) {
+            return;
+        }
+        page.waiting.removeIf(waiting -> !waiting.isOpened());
+        if (page.waiting.isEmpty()) {
+            return;
+        }
+        page.loading = true;
+        load(number, page, generation, elementsPerPage, source, mapper);
+    }
+
+    /**
+     * Stores a loaded page on the main thread and refreshes the open GUIs that rendered its placeholders.
+     * If the element count changed, the GUIs waiting for other pages are refreshed as well.
+     */
+    private void commit(int number, @NonNull Page page, int generation, int total, @NonNull List<Button> buttons) {
+        Set<AbstractGuiPage<?>> refresh = Collections.newSetFromMap(new IdentityHashMap<>());
+        synchronized (this) {
+            if (generation != this.generation) {
+                return;
+            }
+            page.buttons = buttons;
+            page.loading = false;
+            refresh.addAll(page.waiting);
+            page.waiting.clear();
+            if (size != total) {
+                size = total;
+                for (Page other : pages.values()) {
+                    refresh.addAll(other.waiting);
+                }
+            }
+        }
+        for (AbstractGuiPage<?> gui : refresh) {
+            // Closed GUIs are dropped here, or pruned from a failing page when it is retried
+            if (gui.isOpened()) {
+                gui.refresh(true);
+            }
+        }
+    }
+
+    /**
+     * A loaded or loading page.
+     */
+    private static final class Page {
+        /**
+         * The buttons of the page, or null until it is loaded
+         */
+        @Nullable
+        private volatile List<Button> buttons;
+
+        /**
+         * The GUIs that rendered placeholders for this page
+         */
+        @NonNull
+        private final Set<AbstractGuiPage<?>> waiting = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private boolean loading;
+        private int failures;
+        private long retryAt;
+    }
+
+    /**
+     * The items as seen by the {@link me.huanmeng.gui.page.Pagination}: the known element count, with loaded
+     * buttons or placeholders as elements. Until the count is known, the current page is assumed to be the last.
+     */
+    private final class SizeList extends AbstractList<Button> implements RandomAccess {
+        @Override
+        public Button get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            List<Button> buttons;
+            synchronized (AsyncPageArea.this) {
+                Page page = pages.get(index / elementsPerPage + 1);
+                buttons = page != null ? page.buttons : null;
+            }
+            int offset = index % elementsPerPage;
+            return buttons != null && offset < buttons.size() ? buttons.get(offset) : placeholder;
+        }
+
+        @Override
+        public int size() {
+            int size = AsyncPageArea.this.size;
+            return size >= 0 ? size : Math.max(0, currentPage) * elementsPerPage;
+        }
+    }
+}
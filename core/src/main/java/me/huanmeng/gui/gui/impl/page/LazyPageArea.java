@@ -0,0 +1,151 @@
+package me.huanmeng.gui.gui.impl.page;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import me.huanmeng.gui.gui.button.Button;
+import org.jspecify.annotations.NonNull;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * A {@link PageArea} whose items are read from a {@link PageSource} and turned into buttons on demand.
+ * <p>
+ * Only the elements of the visible page are fetched and mapped to buttons, so opening a listing of
+ * 100k rows costs the same as opening one of a single page. The buttons of the last fetched page are
+ * cached until another page is shown or {@link #invalidate()} is called.
+ *
+ * <p>
+ * {@link #items()} is a read-only view of the whole source that fetches pages as it is read.
+ * {@link #items(List)} replaces the source with one reading from the given buttons.
+ *
+ * <p><b>Example:</b>
+ * <pre>{@code
+ * GuiPage gui = new GuiPage(player, PageSource.of(shopItems), item -> Button.of(item.icon()), pageSlots);
+ * }</pre>
+ *
+ * @param <T> the type of the source elements
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ * @see PageSource
+ */
+public class LazyPageArea<T> extends PageArea {
+    @NonNull
+    private PageSource<?> source;
+
+    @NonNull
+    private Function<Object, ? extends Button> mapper;
+
+    /**
+     * Offset of the cached page, or -1 if no page is cached
+     */
+    private int cachedOffset = -1;
+
+    /**
+     * Limit the cached page was fetched with
+     */
+    private int cachedLimit;
+
+    @NonNull
+    private List<Button> cachedPage = Collections.emptyList();
+
+    /**
+     * Creates a page area reading its items from a source.
+     *
+     * @param source the element source
+     * @param mapper creates the button of an element, called only for elements of a shown page
+     */
+    @SuppressWarnings("unchecked")
+    public LazyPageArea(@NonNull PageSource<T> source, @NonNull Function<? super T, ? extends Button> mapper) {
+        this.source = source;
+        // Only ever applied to elements of the source it was given with
+        this.mapper = (Function<Object, ? extends Button>) (Function<?, ?>) mapper;
+        this.items = new SourceList();
+        refreshPagination();
+    }
+
+    /**
+     * Gets the source the items are read from.
+     *
+     * @return the element source, reading buttons after {@link #items(List)} was called
+     */
+    @NonNull
+    public PageSource<?> source() {
+        return source;
+    }
+
+    /**
+     * Drops the cached page, so the next render fetches it again from the source.
+     * Call this after the source changed, then refresh the GUI.
+     */
+    public void invalidate() {
+        cachedOffset = -1;
+        cachedPage = Collections.emptyList();
+    }
+
+    /**
+     * Fetches and maps only the elements of the current page.
+     *
+     * @return the buttons of the current page
+     */
+    @Override
+    public List<Button> getCurrentItems() {
+        if (elementsPerPage <= 0 || currentPage <= 0 || currentPage > getMaxPage()) {
+            return Collections.emptyList();
+        }
+        return page((currentPage - 1) * elementsPerPage, elementsPerPage);
+    }
+
+    /**
+     * Replaces the source with one reading from a list of buttons.
+     * The list is not copied, call {@link #invalidate()} after modifying it.
+     *
+     * @param items the buttons to paginate
+     * @return this PageArea for method chaining
+     */
+    @Override
+    @CanIgnoreReturnValue
+    public PageArea items(List<Button> items) {
+        this.source = PageSource.of(items);
+        this.mapper = Button.class::cast;
+        invalidate();
+        refreshPagination();
+        return this;
+    }
+
+    @NonNull
+    private List<Button> page(int offset, int limit) {
+        if (offset != cachedOffset || limit != cachedLimit) {
+            cachedPage = PageSource.fetch(source, offset, limit, mapper);
+            cachedOffset = offset;
+            cachedLimit = limit;
+        }
+        return cachedPage;
+    }
+
+    /**
+     * A read-only view of the whole source, fetching the page that holds a requested index.
+     */
+    private final class SourceList extends AbstractList<Button> implements RandomAccess {
+        @Override
+        public Button get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            int limit = Math.max(1, elementsPerPage);
+            int offset = index / limit * limit;
+            List<Button> page = page(offset, limit);
+            if (index - offset >= page.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", fetched: " + (offset + page.size()));
+            }
+            return page.get(index - offset);
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+    }
+}
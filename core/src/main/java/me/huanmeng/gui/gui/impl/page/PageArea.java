@@ -2,8 +2,10 @@ package me.huanmeng.gui.gui.impl.page;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import me.huanmeng.gui.gui.button.Button;
+import me.huanmeng.gui.gui.impl.AbstractGuiPage;
 import me.huanmeng.gui.gui.slot.Slots;
 import me.huanmeng.gui.page.Pagination;
+import org.jspecify.annotations.NonNull;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -137,6 +139,19 @@ public class PageArea {
         return pagination.getElementsFor(currentPage);
     }
 
+    /**
+     * Gets the items to display on the current page for a GUI rendering this area.
+     * <p>
+     * Areas may be shared by copies of a GUI, so areas that load their items later use the
+     * rendering GUI to refresh it once they arrive. By default this is {@link #getCurrentItems()}.
+     *
+     * @param gui the GUI rendering this area
+     * @return a list of buttons for the current page
+     */
+    public List<Button> getCurrentItems(@NonNull AbstractGuiPage<?> gui) {
+        return getCurrentItems();
+    }
+
     /**
      * Gets the slots where paginated items are displayed.
      *
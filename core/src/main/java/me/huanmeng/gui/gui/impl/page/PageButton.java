@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableSet;
 import me.huanmeng.gui.gui.button.Button;
 import me.huanmeng.gui.gui.button.ClickData;
 import me.huanmeng.gui.gui.button.function.page.PlayerClickPageButtonInterface;
+import me.huanmeng.gui.gui.enums.ItemOwnership;
 import me.huanmeng.gui.gui.enums.Result;
 import me.huanmeng.gui.gui.impl.AbstractGuiPage;
 import me.huanmeng.gui.gui.impl.GuiPage;
@@ -272,6 +273,17 @@ public class PageButton implements Button {
         return origin.getShowItem(player);
     }
 
+    @Override
+    public @NonNull ItemOwnership itemOwnership() {
+        return origin == null ? ItemOwnership.IMMUTABLE : origin.itemOwnership();
+    }
+
+    @Override
+    public boolean isStatic() {
+        // The condition depends on the current page
+        return origin == null || condition == null && origin.isStatic();
+    }
+
     @Override
     public @NonNull Result onClick(@NonNull ClickData clickData) {
         InventoryClickEvent e = clickData.event;
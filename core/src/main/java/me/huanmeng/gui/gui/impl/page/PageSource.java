@@ -0,0 +1,99 @@
+package me.huanmeng.gui.gui.impl.page;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A source of paginated elements that are fetched on demand instead of being held in memory.
+ * <p>
+ * Used by {@link LazyPageArea}, which only fetches and renders the elements of the visible page.
+ * A source can be backed by a database query, a remote service or a large in-memory collection.
+ *
+ * <p><b>Example:</b>
+ * <pre>{@code
+ * PageSource<Listing> source = new PageSource<Listing>() {
+ *     public int size() {
+ *         return auctions.count();
+ *     }
+ *
+ *     public List<Listing> fetch(int offset, int limit) {
+ *         return auctions.query(offset, limit);
+ *     }
+ * };
+ * }</pre>
+ *
+ * @param <T> the type of the elements
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ * @see LazyPageArea
+ */
+public interface PageSource<T> {
+    /**
+     * Gets the total number of elements.
+     *
+     * @return the element count
+     */
+    int size();
+
+    /**
+     * Fetches a range of elements.
+     *
+     * @param offset the index of the first element
+     * @param limit  the maximum number of elements to fetch
+     * @return the elements in [offset, offset + limit), fewer if the source ends earlier
+     */
+    @NonNull
+    List<T> fetch(int offset, int limit);
+
+    /**
+     * Fetches a range of elements from a source and maps each of them,
+     * ignoring elements beyond the limit if the source returns too many.
+     *
+     * @param source the source
+     * @param offset the index of the first element
+     * @param limit  the maximum number of elements to fetch
+     * @param mapper maps an element
+     * @param <T>    the type of the elements
+     * @param <R>    the type of the mapped elements
+     * @return an unmodifiable list of the mapped elements
+     */
+    @NonNull
+    static <T, R> List<R> fetch(@NonNull PageSource<T> source, int offset, int limit, @NonNull Function<? super T, ? extends R> mapper) {
+        List<T> elements = source.fetch(offset, limit);
+        List<R> mapped = new ArrayList<>(Math.min(elements.size(), limit));
+        for (T element : elements) {
+            if (mapped.size() == limit) {
+                break;
+            }
+            mapped.add(mapper.apply(element));
+        }
+        return Collections.unmodifiableList(mapped);
+    }
+
+    /**
+     * Creates a source backed by a list. The list is not copied, so later changes are visible.
+     *
+     * @param list the list
+     * @param <T>  the type of the elements
+     * @return a source reading from the list
+     */
+    @NonNull
+    static <T> PageSource<T> of(@NonNull List<T> list) {
+        return new PageSource<T>() {
+            @Override
+            public int size() {
+                return list.size();
+            }
+
+            @Override
+            public @NonNull List<T> fetch(int offset, int limit) {
+                int from = Math.min(offset, list.size());
+                return list.subList(from, Math.min(list.size(), from + limit));
+            }
+        };
+    }
+}
@@ -2,6 +2,7 @@ package me.huanmeng.gui.gui.interfaces;
 
 import me.huanmeng.gui.gui.AbstractGui;
 import me.huanmeng.gui.gui.GuiButton;
+import me.huanmeng.gui.gui.enums.ItemOwnership;
 import me.huanmeng.gui.util.item.ItemBuilder;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
@@ -59,6 +60,34 @@ public interface GuiHandler {
      */
     void onSetItem(@NonNull AbstractGui<?> gui, @NonNull Inventory inventory, @NonNull GuiButton button, @Nullable ItemStack itemStack);
 
+    /**
+     * Called when a full redraw replaces the whole contents of an inventory at once.
+     * <p>
+     * Full redraws happen when a GUI is opened and on {@code refresh(true)}, which includes page switches.
+     * Both arrays have the size of the inventory; slots without a button hold {@code null} in both.
+     *
+     * <p>
+     * The default implementation clears the inventory and delegates every button to
+     * {@link #onSetItem(AbstractGui, Inventory, GuiButton, ItemStack)}, so handlers that only customize
+     * single items keep working. Implementations can override this to apply everything in one call.
+     *
+     *
+     * @param gui       the GUI being rendered, never null
+     * @param inventory the Bukkit inventory to fill, never null
+     * @param buttons   the button of each slot, or null for slots without a button
+     * @param contents  the item of each slot, or null for empty slots
+     */
+    default void onSetContents(@NonNull AbstractGui<?> gui, @NonNull Inventory inventory,
+                               @Nullable GuiButton @NonNull [] buttons, @Nullable ItemStack @NonNull [] contents) {
+        inventory.clear();
+        for (int i = 0; i < buttons.length; i++) {
+            GuiButton button = buttons[i];
+            if (button != null) {
+                onSetItem(gui, inventory, button, contents[i]);
+            }
+        }
+    }
+
     /**
      * Queries which button was clicked based on the inventory click event.
      * <p>
@@ -92,8 +121,34 @@ public interface GuiHandler {
      *   <li>Relies on default button lookup (returns null from {@link #queryClickButton})</li>
      * </ul>
      *
+     * <p>
+     * When ownership-aware (the default), the copy is skipped for buttons whose items are declared
+     * {@link ItemOwnership#FRESH} or {@link ItemOwnership#IMMUTABLE}, since no other code can
+     * mutate them. Items with {@link ItemOwnership#SHARED} ownership are always copied.
+     *
      */
     class GuiHandlerDefaultImpl implements GuiHandler {
+        /**
+         * Whether the copy is skipped for items that cannot be aliased.
+         */
+        private final boolean ownershipAware;
+
+        /**
+         * Creates an ownership-aware handler.
+         */
+        public GuiHandlerDefaultImpl() {
+            this(true);
+        }
+
+        /**
+         * Creates a handler.
+         *
+         * @param ownershipAware true to skip the copy for {@link ItemOwnership#FRESH} and
+         *                       {@link ItemOwnership#IMMUTABLE} items, false to always copy
+         */
+        public GuiHandlerDefaultImpl(boolean ownershipAware) {
+            this.ownershipAware = ownershipAware;
+        }
 
         @Override
         public void onSetItem(@NonNull AbstractGui<?> gui, @NonNull Inventory inventory, @NonNull GuiButton button, @Nullable ItemStack itemStack) {
@@ -102,8 +157,30 @@ public interface GuiHandler {
                 inventory.setItem(index, null);
                 return;
             }
+            if (ownershipAware && button.getButton().itemOwnership().isCopyFree()) {
+                inventory.setItem(index, itemStack);
+                return;
+            }
             ItemBuilder itemBuilder = new ItemBuilder(itemStack);
             inventory.setItem(index, itemBuilder.build());
         }
+
+        @Override
+        public void onSetContents(@NonNull AbstractGui<?> gui, @NonNull Inventory inventory,
+                                  @Nullable GuiButton @NonNull [] buttons, @Nullable ItemStack @NonNull [] contents) {
+            ItemStack[] items = new ItemStack[contents.length];
+            for (int i = 0; i < contents.length; i++) {
+                ItemStack itemStack = contents[i];
+                if (itemStack == null || buttons[i] == null) {
+                    continue;
+                }
+                if (ownershipAware && buttons[i].getButton().itemOwnership().isCopyFree()) {
+                    items[i] = itemStack;
+                } else {
+                    items[i] = new ItemBuilder(itemStack).build();
+                }
+            }
+            inventory.setContents(items);
+        }
     }
 }
@@ -4,6 +4,7 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 
 /**
@@ -73,6 +74,17 @@ public interface ListenerAdapter {
      */
     void onInventoryClose(InventoryCloseEvent e);
 
+    /**
+     * Called when a player leaves the server, including after being kicked.
+     * <p>
+     * This method allows the GUI system to drop all state kept for the player.
+     * </p>
+     *
+     * @param e the player quit event, never null
+     */
+    default void onPlayerQuit(PlayerQuitEvent e) {
+    }
+
     /**
      * Called when a plugin is disabled on the server.
      * <p>
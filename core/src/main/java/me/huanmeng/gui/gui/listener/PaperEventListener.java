@@ -1,11 +1,13 @@
 package me.huanmeng.gui.gui.listener;
 
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 
 import java.lang.invoke.MethodHandle;
@@ -68,6 +70,11 @@ public class PaperEventListener implements Listener {
         listenerAdapter.onInventoryClose(e);
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        listenerAdapter.onPlayerQuit(e);
+    }
+
     @EventHandler
     public void onPluginDisabled(PluginDisableEvent e) {
         listenerAdapter.onPluginDisabled(e);
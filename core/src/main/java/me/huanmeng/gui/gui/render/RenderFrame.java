@@ -0,0 +1,109 @@
+package me.huanmeng.gui.gui.render;
+
+import me.huanmeng.gui.gui.GuiButton;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An immutable snapshot of the items a GUI wants to display, computed off the main thread.
+ * <p>
+ * A frame records, for every slot, the button that was evaluated and the item it produced.
+ * It is built by an async tick and later committed on the main thread, where only the slots
+ * whose item differs from the last committed one are written.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+public final class RenderFrame {
+    /**
+     * The inventory this frame was computed for.
+     */
+    @NonNull
+    private final Inventory inventory;
+
+    private final GuiButton @NonNull [] topButtons;
+    private final ItemStack @NonNull [] topItems;
+    private final GuiButton @NonNull [] bottomButtons;
+    private final ItemStack @NonNull [] bottomItems;
+
+    /**
+     * Creates a frame. The arrays are owned by the frame and must not be modified afterwards.
+     *
+     * @param inventory     the inventory the frame was computed for
+     * @param topButtons    evaluated buttons per top inventory slot
+     * @param topItems      items per top inventory slot
+     * @param bottomButtons evaluated buttons per player inventory slot
+     * @param bottomItems   items per player inventory slot
+     */
+    public RenderFrame(@NonNull Inventory inventory,
+                       GuiButton @NonNull [] topButtons, ItemStack @NonNull [] topItems,
+                       GuiButton @NonNull [] bottomButtons, ItemStack @NonNull [] bottomItems) {
+        this.inventory = inventory;
+        this.topButtons = topButtons;
+        this.topItems = topItems;
+        this.bottomButtons = bottomButtons;
+        this.bottomItems = bottomItems;
+    }
+
+    /**
+     * Gets the inventory this frame was computed for.
+     *
+     * @return the inventory
+     */
+    @NonNull
+    public Inventory inventory() {
+        return inventory;
+    }
+
+    /**
+     * Gets the number of slots of one side of this frame.
+     *
+     * @param player whether to count the player inventory slots
+     * @return the slot count
+     */
+    public int size(boolean player) {
+        return player ? bottomButtons.length : topButtons.length;
+    }
+
+    /**
+     * Gets the button evaluated for a slot.
+     *
+     * @param player whether the slot belongs to the player inventory
+     * @param index  the slot index
+     * @return the button, or null if the slot was not evaluated
+     */
+    @Nullable
+    public GuiButton button(boolean player, int index) {
+        GuiButton[] buttons = player ? bottomButtons : topButtons;
+        return index >= 0 && index < buttons.length ? buttons[index] : null;
+    }
+
+    /**
+     * Gets the item computed for a slot.
+     *
+     * @param player whether the slot belongs to the player inventory
+     * @param index  the slot index
+     * @return the item, or null for an empty slot
+     */
+    @Nullable
+    public ItemStack item(boolean player, int index) {
+        ItemStack[] items = player ? bottomItems : topItems;
+        return index >= 0 && index < items.length ? items[index] : null;
+    }
+
+    /**
+     * Checks whether the frame's evaluation of a slot is still valid for the given button,
+     * i.e. the same button is still placed at the same slot.
+     *
+     * @param current the button currently resolved for the slot
+     * @return true if the computed item can be used for that button
+     */
+    public boolean isCurrent(@NonNull GuiButton current) {
+        GuiButton evaluated = button(current.isPlayerInventory(), current.getIndex());
+        return evaluated != null
+                && evaluated.getButton() == current.getButton()
+                && evaluated.getSlot().equals(current.getSlot());
+    }
+}
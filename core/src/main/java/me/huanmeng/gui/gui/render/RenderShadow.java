@@ -0,0 +1,160 @@
+package me.huanmeng.gui.gui.render;
+
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Per-slot record of the items last committed to a GUI's inventories.
+ * <p>
+ * The shadow keeps two independent tables: one for the top (GUI) inventory and one for
+ * the player's own inventory, used when {@code enablePlayerInventory} is on. A slot is
+ * either <i>known</i>, meaning the shadow holds exactly what was last written to it, or
+ * <i>unknown</i>, meaning it must be written on the next render regardless of content.
+ *
+ * <p>
+ * Items passed to {@link #commit(boolean, int, ItemStack)} are stored as-is; callers must
+ * hand over a stack nobody else will mutate (usually a clone).
+ *
+ * <p>
+ * This class is not thread-safe and is meant to be used from the thread that writes the inventory.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+public final class RenderShadow {
+    /**
+     * Last committed items of the top inventory.
+     */
+    private ItemStack @NonNull [] top = new ItemStack[54];
+
+    /**
+     * Last committed items of the player inventory.
+     */
+    private ItemStack @NonNull [] bottom = new ItemStack[41];
+
+    /**
+     * Slots of the top inventory whose committed item is known.
+     */
+    @NonNull
+    private final BitSet topKnown = new BitSet(54);
+
+    /**
+     * Slots of the player inventory whose committed item is known.
+     */
+    @NonNull
+    private final BitSet bottomKnown = new BitSet(41);
+
+    /**
+     * Number of writes skipped since the last {@link #resetSkipped()}.
+     */
+    private int skipped;
+
+    /**
+     * Checks whether the given item is already committed to a slot.
+     *
+     * @param player whether the slot belongs to the player inventory
+     * @param index  the slot index
+     * @param item   the item about to be written, or null for an empty slot
+     * @return true if the slot is known and holds an equal item
+     */
+    public boolean matches(boolean player, int index, @Nullable ItemStack item) {
+        if (index < 0 || !(player ? bottomKnown : topKnown).get(index)) {
+            return false;
+        }
+        ItemStack[] items = player ? bottom : top;
+        if (index >= items.length) {
+            return false;
+        }
+        ItemStack committed = items[index];
+        if (committed == item) {
+            return true;
+        }
+        if (committed == null || item == null) {
+            return false;
+        }
+        return committed.equals(item);
+    }
+
+    /**
+     * Records the item written to a slot, marking the slot as known.
+     *
+     * @param player whether the slot belongs to the player inventory
+     * @param index  the slot index
+     * @param item   the written item, or null for an empty slot
+     */
+    public void commit(boolean player, int index, @Nullable ItemStack item) {
+        if (index < 0) {
+            return;
+        }
+        if (player) {
+            bottom = ensureCapacity(bottom, index);
+            bottom[index] = item;
+            bottomKnown.set(index);
+        } else {
+            top = ensureCapacity(top, index);
+            top[index] = item;
+            topKnown.set(index);
+        }
+    }
+
+    /**
+     * Marks a single slot as unknown, forcing it to be written on the next render.
+     *
+     * @param player whether the slot belongs to the player inventory
+     * @param index  the slot index
+     */
+    public void invalidate(boolean player, int index) {
+        if (index < 0) {
+            return;
+        }
+        ItemStack[] items = player ? bottom : top;
+        if (index < items.length) {
+            items[index] = null;
+        }
+        (player ? bottomKnown : topKnown).clear(index);
+    }
+
+    /**
+     * Marks every slot of both inventories as unknown.
+     */
+    public void invalidate() {
+        Arrays.fill(top, null);
+        Arrays.fill(bottom, null);
+        topKnown.clear();
+        bottomKnown.clear();
+    }
+
+    /**
+     * Records that a write was skipped because the slot was already up to date.
+     */
+    public void skip() {
+        skipped++;
+    }
+
+    /**
+     * Gets the number of writes skipped since the last {@link #resetSkipped()}.
+     *
+     * @return the skipped write count
+     */
+    public int skipped() {
+        return skipped;
+    }
+
+    /**
+     * Resets the skipped write counter, usually at the start of a render pass.
+     */
+    public void resetSkipped() {
+        skipped = 0;
+    }
+
+    private static ItemStack @NonNull [] ensureCapacity(ItemStack @NonNull [] items, int index) {
+        if (index < items.length) {
+            return items;
+        }
+        return Arrays.copyOf(items, Math.max(index + 1, items.length * 2));
+    }
+}
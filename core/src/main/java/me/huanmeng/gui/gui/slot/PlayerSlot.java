@@ -3,6 +3,7 @@ package me.huanmeng.gui.gui.slot;
 import me.huanmeng.gui.gui.button.Button;
 import me.huanmeng.gui.gui.button.ClickData;
 import me.huanmeng.gui.gui.enums.Result;
+import me.huanmeng.gui.gui.slot.impl.slot.SlotImpl;
 import org.bukkit.entity.Player;
 import org.jspecify.annotations.NonNull;
 import org.jetbrains.annotations.NotNull;
@@ -28,6 +29,17 @@ import java.util.Objects;
  * @author huanmeng_qwq
  */
 public class PlayerSlot implements Slot {
+    /**
+     * Canonical instances for the indexes of a player inventory, including armor and off hand.
+     */
+    private static final PlayerSlot[] CACHE = new PlayerSlot[41];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new PlayerSlot(SlotImpl.of(i));
+        }
+    }
+
     /**
      * The wrapped slot that defines the position.
      */
@@ -43,6 +55,22 @@ public class PlayerSlot implements Slot {
         this.slot = slot;
     }
 
+    /**
+     * Gets the plain player inventory slot at an index.
+     * <p>
+     * Player inventory indexes are interned, so the same instance is returned for the same index.
+     *
+     * @param index the slot index in the player's inventory (0-based)
+     * @return the canonical instance, or a new one for indexes outside the player inventory
+     */
+    @NonNull
+    public static PlayerSlot of(int index) {
+        if (index >= 0 && index < CACHE.length) {
+            return CACHE[index];
+        }
+        return new PlayerSlot(SlotImpl.of(index));
+    }
+
     /**
      * Gets the slot index position in the player's inventory.
      *
@@ -79,6 +107,16 @@ public class PlayerSlot implements Slot {
         return slot.tryPlace(button, player);
     }
 
+    /**
+     * Delegates to the wrapped slot.
+     *
+     * @return true if placement on the wrapped slot depends on a condition
+     */
+    @Override
+    public boolean isConditional() {
+        return slot.isConditional();
+    }
+
     /**
      * Returns this PlayerSlot instance.
      * <p>
@@ -103,6 +141,7 @@ public class PlayerSlot implements Slot {
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PlayerSlot that = (PlayerSlot) o;
         return Objects.equals(slot, that.slot);
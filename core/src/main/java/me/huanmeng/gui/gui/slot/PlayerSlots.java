@@ -4,8 +4,9 @@ import me.huanmeng.gui.gui.AbstractGui;
 import org.jspecify.annotations.NonNull;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents multiple slot positions in the player's inventory.
@@ -29,6 +30,12 @@ public class PlayerSlots implements Slots {
     @NonNull
     private final Slots slots;
 
+    /**
+     * Resolved slots per GUI size, used when the wrapped slots are {@link Slots#isSizeBound() size-bound}.
+     */
+    @NonNull
+    private final Map<Integer, PlayerSlot[]> resolved = new ConcurrentHashMap<>();
+
     /**
      * Creates a new PlayerSlots wrapping the specified slots.
      *
@@ -42,7 +49,8 @@ public class PlayerSlots implements Slots {
      * Resolves this PlayerSlots into an array of PlayerSlot instances for a specific GUI.
      * <p>
      * All slots from the wrapped Slots are converted to PlayerSlot instances,
-     * indicating they reference the player's inventory.
+     * indicating they reference the player's inventory. Size-bound slots are converted once per GUI size
+     * and a copy is returned.
      *
      * @param gui the GUI to resolve slots for
      * @param <G> the GUI type
@@ -50,7 +58,23 @@ public class PlayerSlots implements Slots {
      */
     @Override
     public @NotNull <G extends AbstractGui<@NonNull G>> @NonNull Slot[] slots(@NonNull G gui) {
-        return Arrays.stream(slots.slots(gui)).map(Slot::asPlayer).toArray(PlayerSlot[]::new);
+        if (slots.isSizeBound()) {
+            return resolved.computeIfAbsent(gui.size(), size -> convert(slots.slots(gui))).clone();
+        }
+        return convert(slots.slots(gui));
+    }
+
+    private static PlayerSlot @NonNull [] convert(@NonNull Slot @NonNull [] slots) {
+        PlayerSlot[] playerSlots = new PlayerSlot[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            playerSlots[i] = slots[i].asPlayer();
+        }
+        return playerSlots;
+    }
+
+    @Override
+    public boolean isSizeBound() {
+        return slots.isSizeBound();
     }
 
     /**
@@ -84,17 +84,31 @@ public interface Slot {
         return true;
     }
 
+    /**
+     * Checks whether {@link #tryPlace(Button, Player)} may answer differently over time.
+     * <p>
+     * Slots that always accept or always reject buttons return false, so a static button on them
+     * is skipped by tick refreshes. Implementations are assumed conditional unless they say otherwise.
+     *
+     * @return true if placement depends on a condition
+     * @see GuiButton#isStatic()
+     */
+    default boolean isConditional() {
+        return true;
+    }
+
     /**
      * Creates a simple slot at the specified index.
      * <p>
      * Slot indices start at 0.
      *
      * @param slotIndex the slot index (0-based)
-     * @return a new Slot instance
+     * @return the canonical Slot instance for common indexes, a new one otherwise
+     * @see SlotImpl#of(int)
      */
-    @Contract(value = "_ -> new", pure = true)
+    @Contract(pure = true)
     static Slot of(int slotIndex) {
-        return new SlotImpl(slotIndex);
+        return SlotImpl.of(slotIndex);
     }
 
     /**
@@ -109,11 +123,11 @@ public interface Slot {
      *
      * @param row the row number (1-based)
      * @param column the column number (1-based)
-     * @return a new Slot instance
+     * @return the Slot instance
      */
-    @Contract(value = "_, _ -> new", pure = true)
+    @Contract(pure = true)
     static Slot ofGame(int row, int column) {
-        return new SlotImpl(SlotUtil.getSlot(row, column));
+        return SlotImpl.of(SlotUtil.getSlot(row, column));
     }
 
     /**
@@ -128,11 +142,11 @@ public interface Slot {
      *
      * @param row the row number (0-based)
      * @param column the column number (0-based)
-     * @return a new Slot instance
+     * @return the Slot instance
      */
-    @Contract(value = "_, _ -> new", pure = true)
+    @Contract(pure = true)
     static Slot ofBukkit(int row, int column) {
-        return new SlotImpl(SlotUtil.getSlot(row + 1, column + 1));
+        return SlotImpl.of(SlotUtil.getSlot(row + 1, column + 1));
     }
 
     /**
@@ -297,10 +311,11 @@ public interface Slot {
      * rather than the GUI inventory.
      *
      * @param slotIndex the slot index in the player's inventory (0-based)
-     * @return a new PlayerSlot instance
+     * @return the canonical PlayerSlot instance for player inventory indexes, a new one otherwise
+     * @see PlayerSlot#of(int)
      */
     static PlayerSlot player(int slotIndex) {
-        return new PlayerSlot(Slot.of(slotIndex));
+        return PlayerSlot.of(slotIndex);
     }
 
     /**
@@ -3,6 +3,7 @@ package me.huanmeng.gui.gui.slot;
 import me.huanmeng.gui.gui.AbstractGui;
 import me.huanmeng.gui.gui.SlotUtil;
 import me.huanmeng.gui.gui.slot.impl.slots.ArraySlots;
+import me.huanmeng.gui.gui.slot.impl.slots.CompiledSlots;
 import me.huanmeng.gui.gui.slot.impl.slots.ExcludeSlots;
 import me.huanmeng.gui.gui.slot.impl.slots.PatternLineSlots;
 import me.huanmeng.gui.gui.slot.impl.slots.PatternSlots;
@@ -138,12 +139,17 @@ public interface Slots {
 
         @Override
         public @NotNull <G extends AbstractGui<@NonNull G>> @NonNull Slot[] slots(@NonNull G gui) {
-            int size = gui.size();
-            Slot[] slots = new Slot[size];
-            for (int i = 0; i < size; i++) {
-                slots[i] = Slot.of(i);
-            }
-            return slots;
+            return CompiledSlots.full(gui.size()).slots(gui);
+        }
+
+        @Override
+        public <@NonNull G extends AbstractGui<@NonNull G>> @NonNull CompiledSlots compile(@NonNull G gui) {
+            return CompiledSlots.full(gui.size());
+        }
+
+        @Override
+        public boolean isSizeBound() {
+            return true;
         }
     };
 
@@ -152,6 +158,8 @@ public interface Slots {
      * <p>
      * This method is called to convert the abstract Slots definition into concrete
      * slot positions based on the GUI's actual size and configuration.
+     * Definitions caching their resolved slots return a copy of the cache, so modifying the returned array
+     * never affects other GUIs.
      *
      * @param gui the GUI to resolve slots for
      * @param <G> the GUI type
@@ -160,6 +168,31 @@ public interface Slots {
     @NonNull
     <@NonNull G extends AbstractGui<@NonNull G>> Slot[] slots(@NonNull G gui);
 
+    /**
+     * Resolves the indexes of this Slots definition for a specific GUI into an immutable bitset.
+     * <p>
+     * Compiled slots support cheap union, intersection, exclusion and shifting. The built-in
+     * definitions cache their compiled form per GUI size.
+     *
+     * @param gui the GUI to resolve slots for
+     * @param <G> the GUI type
+     * @return the compiled slot indexes
+     */
+    @NonNull
+    default <@NonNull G extends AbstractGui<@NonNull G>> CompiledSlots compile(@NonNull G gui) {
+        return CompiledSlots.of(slots(gui));
+    }
+
+    /**
+     * Checks whether the resolved slots only depend on the GUI size, so they can be cached per size.
+     * Definitions depending on anything else must return false, which is the default.
+     *
+     * @return true if the slots only depend on the GUI size
+     */
+    default boolean isSizeBound() {
+        return false;
+    }
+
     /**
      * Creates an ArraySlots from individual Slot instances.
      *
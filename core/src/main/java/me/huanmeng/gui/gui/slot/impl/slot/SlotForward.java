@@ -49,6 +49,12 @@ public class SlotForward implements Slot {
         return this.buttonPlaceInterface.tryPlace(this, button, player);
     }
 
+    @Override
+    public boolean isConditional() {
+        return buttonPlaceInterface != null && buttonPlaceInterface != ButtonPlaceInterface.ALWAYS_TRUE
+                && buttonPlaceInterface != ButtonPlaceInterface.ALWAYS_FALSE;
+    }
+
     @Override
     public boolean isPlayer() {
         return self.isPlayer();
@@ -1,5 +1,6 @@
 package me.huanmeng.gui.gui.slot.impl.slot;
 
+import me.huanmeng.gui.gui.slot.PlayerSlot;
 import me.huanmeng.gui.gui.slot.Slot;
 
 /**
@@ -17,6 +18,33 @@ import me.huanmeng.gui.gui.slot.Slot;
  * @since 2023/3/17
  */
 public class SlotImpl implements Slot {
+    /**
+     * Canonical instances for the indexes of every top inventory, see {@link #of(int)}.
+     */
+    private static final SlotImpl[] CACHE = new SlotImpl[54];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new SlotImpl(i);
+        }
+    }
+
+    /**
+     * Gets the slot at an index.
+     * <p>
+     * Indexes of every top inventory are interned, so the same instance is returned for the same index
+     * and resolving slots does not allocate.
+     *
+     * @param index the slot index (0-based)
+     * @return the canonical instance, or a new one for indexes outside the cache
+     */
+    public static SlotImpl of(int index) {
+        if (index >= 0 && index < CACHE.length) {
+            return CACHE[index];
+        }
+        return new SlotImpl(index);
+    }
+
     /**
      * The zero-based slot index in the inventory.
      */
@@ -41,6 +69,29 @@ public class SlotImpl implements Slot {
         return index;
     }
 
+    /**
+     * Converts this slot to a player inventory slot, using the canonical instance where possible.
+     *
+     * @return the player slot at this index
+     */
+    @Override
+    public PlayerSlot asPlayer() {
+        if (getClass() == SlotImpl.class) {
+            return PlayerSlot.of(index);
+        }
+        return Slot.super.asPlayer();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A plain SlotImpl accepts every button; subclasses may override {@link #tryPlace} and are assumed conditional.
+     */
+    @Override
+    public boolean isConditional() {
+        return getClass() != SlotImpl.class;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
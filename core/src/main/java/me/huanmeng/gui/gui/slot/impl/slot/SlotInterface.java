@@ -54,4 +54,9 @@ public class SlotInterface extends SlotImpl {
     public boolean tryPlace(@NonNull Button button, @NonNull Player player) {
         return buttonPlaceInterface.tryPlace(this, button, player);
     }
+
+    @Override
+    public boolean isConditional() {
+        return buttonPlaceInterface != ButtonPlaceInterface.ALWAYS_TRUE && buttonPlaceInterface != ButtonPlaceInterface.ALWAYS_FALSE;
+    }
 }
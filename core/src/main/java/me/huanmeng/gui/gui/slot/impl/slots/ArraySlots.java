@@ -27,6 +27,11 @@ public class ArraySlots implements Slots {
         return slots;
     }
 
+    @Override
+    public boolean isSizeBound() {
+        return true;
+    }
+
     public ArraySlots forward(int forwardSlot) {
         return Slots.of(Arrays.stream(slots).map(slot -> Slot.forward(slot, forwardSlot)).toArray(Slot[]::new));
     }
@@ -0,0 +1,296 @@
+package me.huanmeng.gui.gui.slot.impl.slots;
+
+import me.huanmeng.gui.gui.AbstractGui;
+import me.huanmeng.gui.gui.slot.Slot;
+import me.huanmeng.gui.gui.slot.Slots;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.BitSet;
+
+/**
+ * An immutable set of top inventory slot indexes backed by a bitset.
+ * <p>
+ * Compiled slots are what {@link Slots#compile(AbstractGui)} resolves a slots definition to. Union,
+ * intersection, exclusion and shifting run on the bitsets and return new instances, and the
+ * {@link Slot} array is built once per instance, so resolving compiled slots again costs nothing.
+ * Only indexes are kept: slot behaviour such as {@link me.huanmeng.gui.gui.slot.impl.slot.SlotForward forwarding}
+ * is not part of a compiled set.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+public final class CompiledSlots implements Slots {
+    /**
+     * The empty set
+     */
+    public static final CompiledSlots EMPTY = new CompiledSlots(new BitSet(0));
+
+    /**
+     * Full sets per inventory size, up to a double chest
+     */
+    private static final CompiledSlots[] FULL = new CompiledSlots[55];
+
+    static {
+        for (int size = 0; size < FULL.length; size++) {
+            FULL[size] = range(0, size);
+        }
+    }
+
+    @NonNull
+    private final BitSet bits;
+
+    /**
+     * The resolved slots, built on first use
+     */
+    private volatile Slot @Nullable [] slots;
+
+    private CompiledSlots(@NonNull BitSet bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Creates compiled slots from a bitset of indexes.
+     *
+     * @param bits the indexes, copied
+     * @return the compiled slots
+     */
+    @NonNull
+    public static CompiledSlots of(@NonNull BitSet bits) {
+        return bits.isEmpty() ? EMPTY : new CompiledSlots((BitSet) bits.clone());
+    }
+
+    /**
+     * Creates compiled slots from indexes. Negative indexes are ignored.
+     *
+     * @param indexes the indexes
+     * @return the compiled slots
+     */
+    @NonNull
+    public static CompiledSlots of(int @NonNull ... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            if (index >= 0) {
+                bits.set(index);
+            }
+        }
+        return bits.isEmpty() ? EMPTY : new CompiledSlots(bits);
+    }
+
+    /**
+     * Creates compiled slots from the indexes of resolved slots. Negative indexes are ignored.
+     *
+     * @param slots the slots
+     * @return the compiled slots
+     */
+    @NonNull
+    public static CompiledSlots of(@NonNull Slot @NonNull [] slots) {
+        BitSet bits = new BitSet();
+        for (Slot slot : slots) {
+            int index = slot.getIndex();
+            if (index >= 0) {
+                bits.set(index);
+            }
+        }
+        return bits.isEmpty() ? EMPTY : new CompiledSlots(bits);
+    }
+
+    /**
+     * Creates compiled slots for the half-open range [min, max).
+     *
+     * @param min the first index, inclusive
+     * @param max the last index, exclusive
+     * @return the compiled slots
+     */
+    @NonNull
+    public static CompiledSlots range(int min, int max) {
+        if (min >= max) {
+            return EMPTY;
+        }
+        BitSet bits = new BitSet(max);
+        bits.set(Math.max(0, min), max);
+        return new CompiledSlots(bits);
+    }
+
+    /**
+     * Gets every slot of an inventory of the given size. Sets up to a double chest are cached.
+     *
+     * @param size the inventory size
+     * @return the compiled slots [0, size)
+     */
+    @NonNull
+    public static CompiledSlots full(int size) {
+        if (size < 0 || size >= FULL.length) {
+            return range(0, size);
+        }
+        return FULL[size];
+    }
+
+    /**
+     * Gets the slots in this set or the other.
+     *
+     * @param other the other set
+     * @return the union
+     */
+    @NonNull
+    public CompiledSlots union(@NonNull CompiledSlots other) {
+        if (other.bits.isEmpty()) {
+            return this;
+        }
+        BitSet bits = (BitSet) this.bits.clone();
+        bits.or(other.bits);
+        return new CompiledSlots(bits);
+    }
+
+    /**
+     * Gets the slots in both this set and the other.
+     *
+     * @param other the other set
+     * @return the intersection
+     */
+    @NonNull
+    public CompiledSlots intersect(@NonNull CompiledSlots other) {
+        BitSet bits = (BitSet) this.bits.clone();
+        bits.and(other.bits);
+        return bits.isEmpty() ? EMPTY : new CompiledSlots(bits);
+    }
+
+    /**
+     * Gets the slots in this set but not in the other.
+     *
+     * @param other the slots to exclude
+     * @return the difference
+     */
+    @NonNull
+    public CompiledSlots exclude(@NonNull CompiledSlots other) {
+        if (!bits.intersects(other.bits)) {
+            return this;
+        }
+        BitSet bits = (BitSet) this.bits.clone();
+        bits.andNot(other.bits);
+        return bits.isEmpty() ? EMPTY : new CompiledSlots(bits);
+    }
+
+    /**
+     * Moves every slot by an offset, dropping slots that would become negative.
+     * A shift by 9 moves the slots one row down.
+     *
+     * @param offset the offset to add to every index
+     * @return the shifted slots
+     */
+    @NonNull
+    public CompiledSlots shift(int offset) {
+        if (offset == 0 || bits.isEmpty()) {
+            return this;
+        }
+        BitSet shifted = new BitSet();
+        for (int i = bits.nextSetBit(Math.max(0, -offset)); i >= 0; i = bits.nextSetBit(i + 1)) {
+            shifted.set(i + offset);
+        }
+        return shifted.isEmpty() ? EMPTY : new CompiledSlots(shifted);
+    }
+
+    /**
+     * Checks whether an index is in this set.
+     *
+     * @param index the slot index
+     * @return true if the index is in this set
+     */
+    public boolean contains(int index) {
+        return index >= 0 && bits.get(index);
+    }
+
+    /**
+     * Gets the number of slots in this set.
+     *
+     * @return the slot count
+     */
+    public int size() {
+        return bits.cardinality();
+    }
+
+    /**
+     * Checks whether this set has no slots.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return bits.isEmpty();
+    }
+
+    /**
+     * Gets the indexes of this set in ascending order.
+     *
+     * @return a new array of the indexes
+     */
+    public int @NonNull [] indexes() {
+        return bits.stream().toArray();
+    }
+
+    /**
+     * Gets the indexes of this set as a bitset.
+     *
+     * @return a copy of the bitset
+     */
+    @NonNull
+    public BitSet bits() {
+        return (BitSet) bits.clone();
+    }
+
+    /**
+     * Gets the slots of this set in ascending index order.
+     *
+     * @param gui unused, compiled slots do not depend on the GUI
+     * @return a copy of the slots
+     */
+    @Override
+    public <@NonNull G extends AbstractGui<@NonNull G>> @NonNull Slot[] slots(@NonNull G gui) {
+        return slots().clone();
+    }
+
+    /**
+     * Gets the slots of this set in ascending index order.
+     * The array is shared and must not be modified.
+     *
+     * @return the slots
+     */
+    public @NonNull Slot[] slots() {
+        Slot[] slots = this.slots;
+        if (slots == null) {
+            slots = new Slot[bits.cardinality()];
+            int n = 0;
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                slots[n++] = Slot.of(i);
+            }
+            this.slots = slots;
+        }
+        return slots;
+    }
+
+    @Override
+    public <@NonNull G extends AbstractGui<@NonNull G>> @NonNull CompiledSlots compile(@NonNull G gui) {
+        return this;
+    }
+
+    @Override
+    public boolean isSizeBound() {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return bits.equals(((CompiledSlots) o).bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return bits.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledSlots" + bits;
+    }
+}
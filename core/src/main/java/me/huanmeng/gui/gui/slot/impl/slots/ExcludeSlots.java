@@ -6,55 +6,84 @@ import me.huanmeng.gui.gui.slot.Slots;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 2023/3/17<br>
  * Gui<br>
+ * <p>
+ * Excluded indexes are checked against a bitset. When both the slots and the excluded slots only depend
+ * on the GUI size, the result is cached per size.
  *
  * @author huanmeng_qwq
  */
 public class ExcludeSlots implements Slots {
     @Nullable
-    private Set<Integer> excludeList;
+    private final CompiledSlots excludeList;
     @Nullable
-    private Slots excludeSlots;
+    private final Slots excludeSlots;
     @NonNull
     private final Slots slots;
+    /**
+     * Resolved slots per GUI size, used when {@link #isSizeBound()}
+     */
+    @NonNull
+    private final Map<Integer, Slot[]> resolved = new ConcurrentHashMap<>();
 
     public ExcludeSlots(@NonNull Slots slots, int[] excludeSlots) {
         this.slots = slots;
-        this.excludeList = new HashSet<>(excludeSlots.length);
-        this.excludeList.addAll(Arrays.stream(excludeSlots).boxed().collect(Collectors.toList()));
+        this.excludeList = CompiledSlots.of(excludeSlots);
+        this.excludeSlots = null;
     }
 
     public ExcludeSlots(@NonNull Slots slots, @Nullable Slots excludeSlots) {
         this.slots = slots;
+        this.excludeList = null;
         this.excludeSlots = excludeSlots;
     }
 
     @Override
     public <@NonNull G extends AbstractGui<@NonNull G>> Slot[] slots(@NonNull G gui) {
-        List<Slot> list = new ArrayList<>();
-        List<Integer> dynamicExcludeSlots = new ArrayList<>();
-        List<Slot> exclude = new ArrayList<>();
-        if (excludeSlots != null) {
-            exclude.addAll(Arrays.asList(excludeSlots.slots(gui)));
-            for (@NonNull Slot slot : exclude) {
-                dynamicExcludeSlots.add(slot.getIndex());
-            }
+        if (isSizeBound()) {
+            return resolved.computeIfAbsent(gui.size(), size -> resolve(gui)).clone();
         }
-        for (@NonNull Slot slot : slots.slots(gui)) {
-            int index = slot.getIndex();
-            if (excludeList != null && excludeList.contains(index)) {
-                continue;
-            }
-            if (dynamicExcludeSlots.contains(index) || exclude.contains(slot)) {
-                continue;
+        return resolve(gui);
+    }
+
+    @NonNull
+    private <@NonNull G extends AbstractGui<@NonNull G>> Slot[] resolve(@NonNull G gui) {
+        Slot[] base = slots.slots(gui);
+        CompiledSlots excluded = excluded(gui);
+        if (excluded.isEmpty()) {
+            return base;
+        }
+        Slot[] result = new Slot[base.length];
+        int count = 0;
+        for (@NonNull Slot slot : base) {
+            if (!excluded.contains(slot.getIndex())) {
+                result[count++] = slot;
             }
-            list.add(slot);
         }
-        return list.toArray(new Slot[0]);
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    @Override
+    public <@NonNull G extends AbstractGui<@NonNull G>> @NonNull CompiledSlots compile(@NonNull G gui) {
+        return slots.compile(gui).exclude(excluded(gui));
+    }
+
+    @NonNull
+    private <@NonNull G extends AbstractGui<@NonNull G>> CompiledSlots excluded(@NonNull G gui) {
+        if (excludeList != null) {
+            return excludeList;
+        }
+        return excludeSlots != null ? excludeSlots.compile(gui) : CompiledSlots.EMPTY;
+    }
+
+    @Override
+    public boolean isSizeBound() {
+        return slots.isSizeBound() && (excludeSlots == null || excludeSlots.isSizeBound());
     }
 }
@@ -2,59 +2,100 @@ package me.huanmeng.gui.gui.slot.impl.slots;
 
 import com.google.common.primitives.Chars;
 import me.huanmeng.gui.gui.AbstractGui;
+import me.huanmeng.gui.gui.SlotUtil;
 import me.huanmeng.gui.gui.slot.Slot;
 import me.huanmeng.gui.gui.slot.Slots;
 import org.jspecify.annotations.NonNull;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * 2023/3/17<br>
  * Gui<br>
+ * <p>
+ * The pattern function is expected to return the same pattern for the same line count:
+ * the parsed slots are cached per line count.
  *
  * @author huanmeng_qwq
  */
 public class PatternLineSlots implements Slots {
     @NonNull
     private final Function<@NonNull Integer, @NonNull String[]> patternFun;
+    private final char @NonNull [] chars;
+    /**
+     * Parsed patterns per line count
+     */
     @NonNull
-    private final List<@NonNull Character> chars;
+    private final Map<Integer, CompiledSlots> compiled = new ConcurrentHashMap<>();
 
     public PatternLineSlots(@NonNull Function<@NonNull Integer, @NonNull String[]> pattern, char... chars) {
         this.patternFun = pattern;
-        this.chars = new ArrayList<>(chars.length);
-        this.chars.addAll(Chars.asList(chars));
+        this.chars = chars.clone();
     }
 
     @Override
     @NonNull
     public <@NonNull G extends AbstractGui<@NonNull G>> Slot[] slots(@NonNull G gui) {
-        String[] pattern = patternFun.apply(gui.size() / 9);
-        return applySlots(pattern, this.chars);
+        return compile(gui).slots().clone();
+    }
+
+    @Override
+    public <@NonNull G extends AbstractGui<@NonNull G>> @NonNull CompiledSlots compile(@NonNull G gui) {
+        return compile(gui.size() / 9);
+    }
+
+    /**
+     * Parses the pattern for a line count, once per line count.
+     *
+     * @param line the line count
+     * @return the compiled slots of the pattern
+     */
+    @NonNull
+    public CompiledSlots compile(int line) {
+        return compiled.computeIfAbsent(line, l -> compile(patternFun.apply(l), chars));
+    }
+
+    @Override
+    public boolean isSizeBound() {
+        return true;
     }
 
     @NonNull
     protected static Slot[] applySlots(@NonNull String[] pattern, @NonNull List<Character> chars2) {
-        List<Slot> list = new ArrayList<>(pattern.length);
+        return compile(pattern, Chars.toArray(chars2)).slots();
+    }
+
+    /**
+     * Parses a pattern into the slots of the given characters.
+     *
+     * @param pattern the pattern lines
+     * @param chars   the characters selecting a slot
+     * @return the compiled slots
+     */
+    @NonNull
+    static CompiledSlots compile(@NonNull String[] pattern, char @NonNull [] chars) {
+        BitSet bits = new BitSet();
         for (int row = 0; row < pattern.length; row++) {
             String line = pattern[row];
-            char[] chars = line.toCharArray();
-            for (int column = 0; column < chars.length; column++) {
-                if (chars2.contains(chars[column])) {
-                    list.add(Slot.ofBukkit(row, column));
+            for (int column = 0; column < line.length(); column++) {
+                if (Chars.contains(chars, line.charAt(column))) {
+                    bits.set(SlotUtil.getSlot(row + 1, column + 1));
                 }
             }
         }
-        return list.toArray(new Slot[0]);
+        return CompiledSlots.of(bits);
     }
+
     public ArraySlots getSlots(int line) {
-        return Slots.of(applySlots(this.patternFun.apply(line), this.chars));
+        return Slots.of(compile(line).slots().clone());
     }
 
     public ArraySlots getSlots(int line, char... chars) {
-        return Slots.of(applySlots(this.patternFun.apply(line), Chars.asList(chars)));
+        return Slots.of(compile(this.patternFun.apply(line), chars).slots());
     }
 
     @NonNull
@@ -1,44 +1,67 @@
 package me.huanmeng.gui.gui.slot.impl.slots;
 
-import com.google.common.primitives.Chars;
 import me.huanmeng.gui.gui.AbstractGui;
 import me.huanmeng.gui.gui.slot.Slot;
 import me.huanmeng.gui.gui.slot.Slots;
 import org.jspecify.annotations.NonNull;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.jspecify.annotations.Nullable;
 
 /**
  * 2023/3/17<br>
  * Gui<br>
+ * <p>
+ * The pattern is parsed once, on first use.
  *
  * @author huanmeng_qwq
  */
 public class PatternSlots implements Slots {
     @NonNull
     private final String[] pattern;
-    @NonNull
-    private final List<@NonNull Character> chars;
+    private final char @NonNull [] chars;
+    @Nullable
+    private volatile CompiledSlots compiled;
 
     public PatternSlots(@NonNull String[] pattern, char... chars) {
         this.pattern = pattern;
-        this.chars = new ArrayList<>(chars.length);
-        this.chars.addAll(Chars.asList(chars));
+        this.chars = chars.clone();
     }
 
     @Override
     @NonNull
     public <@NonNull G extends AbstractGui<@NonNull G>> Slot[] slots(@NonNull G gui) {
-        return PatternLineSlots.applySlots(pattern, this.chars);
+        return compile().slots().clone();
+    }
+
+    @Override
+    public <@NonNull G extends AbstractGui<@NonNull G>> @NonNull CompiledSlots compile(@NonNull G gui) {
+        return compile();
+    }
+
+    /**
+     * Gets the parsed pattern.
+     *
+     * @return the compiled slots of the pattern
+     */
+    @NonNull
+    public CompiledSlots compile() {
+        CompiledSlots compiled = this.compiled;
+        if (compiled == null) {
+            compiled = this.compiled = PatternLineSlots.compile(pattern, chars);
+        }
+        return compiled;
+    }
+
+    @Override
+    public boolean isSizeBound() {
+        return true;
     }
 
     public ArraySlots getSlots() {
-        return Slots.of(PatternLineSlots.applySlots(this.pattern, this.chars));
+        return Slots.of(compile().slots().clone());
     }
 
     public ArraySlots getSlots(char... chars) {
-        return Slots.of(PatternLineSlots.applySlots(this.pattern, Chars.asList(chars)));
+        return Slots.of(PatternLineSlots.compile(this.pattern, chars).slots());
     }
 
     public Slot first(char c){
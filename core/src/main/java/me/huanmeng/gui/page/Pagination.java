@@ -4,7 +4,13 @@ import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Set;
 
 /**
  * Generic pagination utility for dividing collections into pages.
@@ -44,6 +50,11 @@ public class Pagination<@NonNull T> {
     @NonNull
     private List<@Nullable T> content;
     private final int elementsPerPage;
+    /**
+     * Hash index of {@link #content} used by {@link #addElement(Object)}, or null to scan the list
+     */
+    @Nullable
+    private Set<@Nullable T> contentIndex;
 
     /**
      * Constructs a new pagination instance.
@@ -68,7 +79,7 @@ public class Pagination<@NonNull T> {
      * @param executor the executor that will process each element, never null
      */
     public void printPage(int page, @NonNull IPaginationExecutor<T> executor) {
-        for (T element : getElementsFor(page)) {
+        for (T element : viewElementsFor(page)) {
             executor.print(element);
         }
     }
@@ -77,7 +88,7 @@ public class Pagination<@NonNull T> {
      * Retrieves all elements for a specific page.
      * <p>
      * This method calculates the start and end indices for the requested page and returns
-     * a sublist containing only those elements. If the page number is invalid (less than 1
+     * a new list containing only those elements. If the page number is invalid (less than 1
      * or greater than the total number of pages), an empty list is returned.
      *
      * <p>
@@ -93,6 +104,7 @@ public class Pagination<@NonNull T> {
      *
      * @param page the page number to retrieve (1-indexed)
      * @return a list containing the elements on the specified page, or an empty list if the page is invalid
+     * @see #viewElementsFor(int)
      */
     @NonNull
     public List<T> getElementsFor(int page) {
@@ -101,7 +113,53 @@ public class Pagination<@NonNull T> {
         int startIndex = (page - 1) * this.elementsPerPage;
         int endIndex = Math.min(page * this.elementsPerPage, this.content.size());
 
-        return new ArrayList<>(this.content).subList(startIndex, Math.min(endIndex, this.content.size()));
+        return new ArrayList<>(this.content.subList(startIndex, endIndex));
+    }
+
+    /**
+     * Retrieves a read-only view of the elements of a specific page, without copying the content.
+     * <p>
+     * The view is only valid until the content is structurally modified: use it to read a page right away,
+     * and {@link #getElementsFor(int)} to keep the elements of a page.
+     *
+     * @param page the page number to retrieve (1-indexed)
+     * @return a read-only view of the elements on the specified page, or an empty list if the page is invalid
+     */
+    @NonNull
+    public List<T> viewElementsFor(int page) {
+        if (page <= 0 || page > getPages()) return Collections.emptyList();
+
+        int startIndex = (page - 1) * this.elementsPerPage;
+        int endIndex = Math.min(page * this.elementsPerPage, this.content.size());
+
+        return Collections.unmodifiableList(this.content.subList(startIndex, endIndex));
+    }
+
+    /**
+     * Adds the elements of a specific page to a caller-supplied collection.
+     * <p>
+     * Unlike {@link #getElementsFor(int)} this creates no list, so a buffer can be reused across renders.
+     *
+     * @param page   the page number to retrieve (1-indexed)
+     * @param buffer the collection receiving the elements, which is not cleared first
+     * @return the number of elements added, 0 if the page is invalid
+     */
+    public int getElementsFor(int page, @NonNull Collection<? super T> buffer) {
+        if (page <= 0 || page > getPages()) return 0;
+
+        int startIndex = (page - 1) * this.elementsPerPage;
+        int endIndex = Math.min(page * this.elementsPerPage, this.content.size());
+        if (this.content instanceof RandomAccess) {
+            for (int i = startIndex; i < endIndex; i++) {
+                buffer.add(this.content.get(i));
+            }
+        } else {
+            ListIterator<T> iterator = this.content.listIterator(startIndex);
+            for (int i = startIndex; i < endIndex; i++) {
+                buffer.add(iterator.next());
+            }
+        }
+        return endIndex - startIndex;
     }
 
     /**
@@ -173,22 +231,52 @@ public class Pagination<@NonNull T> {
     /**
      * Adds an element to the content list if it doesn't already exist.
      * <p>
-     * This method uses {@link List#contains(Object)} to check for duplicates, so the element
-     * will only be added if it's not already present in the list. Note that this may affect
-     * the total number of pages returned by {@link #getPages()}.
+     * This method uses {@link List#contains(Object)} to check for duplicates, or a hash index if
+     * {@link #setHashedDedupe(boolean) hashed dedupe} is enabled, so the element will only be added
+     * if it's not already present in the list. Note that this may affect the total number of pages
+     * returned by {@link #getPages()}.
      *
      *
      * @param element the element to add, may be null if the list supports null elements
      */
     public void addElement(@Nullable T element) {
+        if (this.contentIndex != null) {
+            if (this.contentIndex.add(element)) this.content.add(element);
+            return;
+        }
         if (!this.content.contains(element)) this.content.add(element);
     }
 
+    /**
+     * Sets whether {@link #addElement(Object)} checks for duplicates with a hash index instead of scanning the list.
+     * <p>
+     * The index makes adding an element O(1), but it is only kept up to date by {@link #addElement(Object)}
+     * and {@link #setContent(List)}: enable it only when the content is not modified directly.
+     * Elements must implement {@link Object#hashCode()} consistently with {@link Object#equals(Object)}.
+     *
+     *
+     * @param hashedDedupe true to check duplicates with a hash index
+     */
+    public void setHashedDedupe(boolean hashedDedupe) {
+        this.contentIndex = hashedDedupe ? new HashSet<>(this.content) : null;
+    }
+
+    /**
+     * Checks whether {@link #addElement(Object)} checks for duplicates with a hash index.
+     *
+     *
+     * @return true if hashed dedupe is enabled
+     */
+    public boolean isHashedDedupe() {
+        return contentIndex != null;
+    }
+
     /**
      * Returns the complete list of elements being paginated.
      * <p>
      * Note: This returns a direct reference to the internal list, not a copy. Modifications
-     * to the returned list will affect the pagination.
+     * to the returned list will affect the pagination, and are not seen by the
+     * {@link #setHashedDedupe(boolean) hashed dedupe} index.
      *
      *
      * @return the full content list, never null
@@ -209,6 +297,9 @@ public class Pagination<@NonNull T> {
      */
     public void setContent(@NonNull List<T> content) {
         this.content = content;
+        if (this.contentIndex != null) {
+            this.contentIndex = new HashSet<>(content);
+        }
     }
 
     /**
@@ -0,0 +1,186 @@
+package me.huanmeng.gui.scheduler;
+
+import me.huanmeng.gui.gui.GuiManager;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Queue of actions deferred to the next server tick, drained by a single sync task.
+ * <p>
+ * GUI operations that cannot run inside a click handler (opening, closing, syncing inventories)
+ * are submitted here instead of scheduling one task each. Actions submitted for the same player,
+ * {@link Kind} and scope replace each other, so only the latest intent of a burst of clicks survives.
+ * Actions run in the order of their latest submission.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+@SuppressWarnings("unused")
+public final class NextTickQueue {
+    /**
+     * The kind of a deferred action, used to dedupe actions of the same player.
+     */
+    public enum Kind {
+        /**
+         * Opening a GUI.
+         */
+        OPEN,
+        /**
+         * Closing a GUI or navigating back.
+         */
+        CLOSE,
+        /**
+         * Synchronizing inventory contents after a click.
+         */
+        SYNC_INVENTORY
+    }
+
+    private static final Map<Object, Runnable> PENDING = new LinkedHashMap<>();
+    /**
+     * The scheduled drain task, null while nothing is pending
+     */
+    private static Scheduler.@Nullable Task drainTask;
+
+    private NextTickQueue() {
+    }
+
+    /**
+     * Defers an action to the next tick, replacing any pending action of the same player and kind.
+     *
+     * @param player the player the action belongs to
+     * @param kind   the kind of the action
+     * @param action the action to run
+     */
+    public static void submit(@NonNull UUID player, @NonNull Kind kind, @NonNull Runnable action) {
+        enqueue(new Key(player, kind, null), action);
+    }
+
+    /**
+     * Defers an action to the next tick, replacing any pending action of the same player, kind and scope.
+     * Scopes are compared by identity: actions of different scopes, such as two GUIs of one player, all run.
+     *
+     * @param player the player the action belongs to
+     * @param kind   the kind of the action
+     * @param scope  the object the action belongs to
+     * @param action the action to run
+     */
+    public static void submit(@NonNull UUID player, @NonNull Kind kind, @NonNull Object scope, @NonNull Runnable action) {
+        enqueue(new Key(player, kind, scope), action);
+    }
+
+    /**
+     * Defers an action to the next tick without deduplication.
+     *
+     * @param action the action to run
+     */
+    public static void submit(@NonNull Runnable action) {
+        enqueue(new Object(), action);
+    }
+
+    /**
+     * Gets the number of actions waiting for the next drain.
+     *
+     * @return the pending action count
+     */
+    public static int pending() {
+        synchronized (PENDING) {
+            return PENDING.size();
+        }
+    }
+
+    /**
+     * Drops the pending actions of a player, e.g. when the player quits.
+     *
+     * @param player the player whose actions are dropped
+     */
+    public static void drop(@NonNull UUID player) {
+        synchronized (PENDING) {
+            PENDING.keySet().removeIf(key -> key instanceof Key && ((Key) key).player.equals(player));
+        }
+    }
+
+    /**
+     * Drops every pending action and cancels the pending drain task, so the queue starts over with
+     * the next submission. Called when the owning {@link GuiManager} is closed.
+     */
+    public static void shutdown() {
+        synchronized (PENDING) {
+            PENDING.clear();
+            if (drainTask != null) {
+                drainTask.stop();
+                drainTask = null;
+            }
+        }
+    }
+
+    private static void enqueue(@NonNull Object key, @NonNull Runnable action) {
+        synchronized (PENDING) {
+            // Re-insert so the surviving action runs at the position of the latest submission
+            PENDING.remove(key);
+            PENDING.put(key, action);
+            if (drainTask != null) {
+                return;
+            }
+            try {
+                // Scheduled under the lock, so shutdown() always sees the task it has to stop
+                drainTask = Schedulers.sync().runLater(NextTickQueue::drain, 1);
+            } catch (Throwable e) {
+                // Nothing would ever drain the queue, let the next submission schedule again
+                PENDING.clear();
+                throw e;
+            }
+        }
+    }
+
+    private static void drain() {
+        Runnable[] actions;
+        synchronized (PENDING) {
+            actions = PENDING.values().toArray(new Runnable[0]);
+            PENDING.clear();
+            drainTask = null;
+        }
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Throwable e) {
+                GuiManager manager = GuiManager.instance();
+                if (manager != null) {
+                    manager.plugin().getLogger().log(Level.SEVERE, "An error occurred while running a deferred gui action: ", e);
+                }
+            }
+        }
+    }
+
+    private static final class Key {
+        @NonNull
+        private final UUID player;
+        @NonNull
+        private final Kind kind;
+        @Nullable
+        private final Object scope;
+
+        Key(@NonNull UUID player, @NonNull Kind kind, @Nullable Object scope) {
+            this.player = player;
+            this.kind = kind;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return player.equals(key.player) && kind == key.kind && scope == key.scope;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(player, kind, System.identityHashCode(scope));
+        }
+    }
+}
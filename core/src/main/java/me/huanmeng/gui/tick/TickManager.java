@@ -1,28 +1,280 @@
 package me.huanmeng.gui.tick;
 
+import me.huanmeng.gui.gui.GuiManager;
 import me.huanmeng.gui.scheduler.Scheduler;
+import me.huanmeng.gui.scheduler.SchedulerAsync;
 import me.huanmeng.gui.scheduler.Schedulers;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * 2023/3/17<br>
  * Gui<br>
+ * <p>
+ * Drives every periodic tickle from a single repeating task per {@link Scheduler}.
+ * Tickles are grouped into buckets by interval and spread across the phases of their interval,
+ * so tickles sharing an interval do not all run on the same server tick. A tickle first runs
+ * once at least a full interval has passed since it was registered, on the first tick of its phase.
+ * On an {@link SchedulerAsync async} scheduler every due tickle is dispatched as its own task,
+ * so a slow tickle does not hold back the others; a tickle still running when it is due again is skipped.
  *
  * @author huanmeng_qwq
  */
 @SuppressWarnings("unused")
 public class TickManager {
+    /**
+     * One driver per scheduler, each running a single repeating task.
+     */
+    private static final Map<Scheduler, Driver> DRIVERS = new ConcurrentHashMap<>();
+
     public static Scheduler.@NonNull Task tick(@NonNull Runnable tickle, boolean async, long tick) {
-        Scheduler.Task task;
-        if (async) {
-            task = Schedulers.async().runRepeating(tickle, tick, tick);
-        } else {
-            task = Schedulers.sync().runRepeating(tickle, tick, tick);
-        }
-        return task;
+        return tick(tickle, async ? Schedulers.async() : Schedulers.sync(), tick);
     }
 
     public static Scheduler.@NonNull Task tick(@NonNull Runnable tickle, @NonNull Scheduler scheduler, long tick) {
-        return scheduler.runRepeating(tickle, tick, tick);
+        return DRIVERS.computeIfAbsent(scheduler, Driver::new).register(tickle, Math.max(1, tick));
+    }
+
+    /**
+     * Gets how many tickles ran during the last server tick, across all schedulers.
+     *
+     * @return the number of tickles run by the last tick of every driver
+     */
+    public static int lastTicked() {
+        int ticked = 0;
+        for (Driver driver : DRIVERS.values()) {
+            ticked += driver.lastTicked;
+        }
+        return ticked;
+    }
+
+    /**
+     * Gets how many tickles are currently registered, across all schedulers.
+     *
+     * @return the number of registered tickles
+     */
+    public static int registered() {
+        int registered = 0;
+        for (Driver driver : DRIVERS.values()) {
+            registered += driver.registered;
+        }
+        return registered;
+    }
+
+    /**
+     * Stops every driver task and forgets all registered tickles.
+     * Called when the owning {@link GuiManager} is closed.
+     */
+    public static void shutdown() {
+        for (Driver driver : DRIVERS.values()) {
+            driver.shutdown();
+        }
+        DRIVERS.clear();
+    }
+
+    /**
+     * Runs the tickles of one scheduler from a single repeating task.
+     */
+    private static final class Driver implements Runnable {
+        private static final Entry[] EMPTY = new Entry[0];
+
+        @NonNull
+        private final Scheduler scheduler;
+
+        /**
+         * Whether due tickles are dispatched as separate tasks instead of run by the driver task
+         */
+        private final boolean parallel;
+
+        /**
+         * Captured on creation, so errors can still be logged while the manager is closing
+         */
+        @NonNull
+        private final Logger logger;
+
+        /**
+         * Tickles per interval, then per phase of that interval.
+         */
+        private final Map<Long, Map<Long, Entry[]>> buckets = new ConcurrentHashMap<>();
+
+        /**
+         * Round-robin phase counters per interval.
+         */
+        private final Map<Long, Long> nextPhase = new ConcurrentHashMap<>();
+
+        private Scheduler.@Nullable Task task;
+        private volatile long tick;
+        private volatile int lastTicked;
+        private volatile int registered;
+
+        Driver(@NonNull Scheduler scheduler) {
+            this.scheduler = scheduler;
+            this.parallel = scheduler instanceof SchedulerAsync;
+            GuiManager manager = GuiManager.instance();
+            this.logger = manager != null ? manager.plugin().getLogger() : Logger.getLogger(TickManager.class.getName());
+        }
+
+        synchronized Scheduler.@NonNull Task register(@NonNull Runnable tickle, long interval) {
+            long counter = nextPhase.getOrDefault(interval, 0L);
+            nextPhase.put(interval, counter + 1);
+            long phase = counter % interval;
+            // Keep the initial delay of a full interval, then wait for the phase
+            long start = tick + interval;
+            Entry entry = new Entry(this, tickle, interval, phase, start + Math.floorMod(phase - start, interval));
+            Map<Long, Entry[]> phases = buckets.computeIfAbsent(interval, k -> new ConcurrentHashMap<>());
+            Entry[] entries = phases.getOrDefault(phase, EMPTY);
+            Entry[] copy = Arrays.copyOf(entries, entries.length + 1);
+            copy[entries.length] = entry;
+            phases.put(phase, copy);
+            registered++;
+            if (task == null) {
+                task = scheduler.runRepeating(this, 1, 1);
+            }
+            return entry;
+        }
+
+        synchronized void unregister(@NonNull Entry entry) {
+            Map<Long, Entry[]> phases = buckets.get(entry.interval);
+            if (phases == null) {
+                return;
+            }
+            Entry[] entries = phases.get(entry.phase);
+            if (entries == null) {
+                return;
+            }
+            int index = -1;
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i] == entry) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            if (entries.length == 1) {
+                phases.remove(entry.phase);
+                if (phases.isEmpty()) {
+                    buckets.remove(entry.interval);
+                    nextPhase.remove(entry.interval);
+                }
+            } else {
+                Entry[] copy = new Entry[entries.length - 1];
+                System.arraycopy(entries, 0, copy, 0, index);
+                System.arraycopy(entries, index + 1, copy, index, entries.length - index - 1);
+                phases.put(entry.phase, copy);
+            }
+            registered--;
+            if (registered == 0 && task != null) {
+                task.stop();
+                task = null;
+                lastTicked = 0;
+            }
+        }
+
+        synchronized void shutdown() {
+            if (task != null) {
+                task.stop();
+                task = null;
+            }
+            buckets.clear();
+            nextPhase.clear();
+            registered = 0;
+            lastTicked = 0;
+        }
+
+        @Override
+        public void run() {
+            long now = ++tick;
+            int ticked = 0;
+            for (Map.Entry<Long, Map<Long, Entry[]>> bucket : buckets.entrySet()) {
+                Entry[] entries = bucket.getValue().get(now % bucket.getKey());
+                if (entries == null) {
+                    continue;
+                }
+                for (Entry entry : entries) {
+                    if (entry.stopped || now < entry.firstTick) {
+                        continue;
+                    }
+                    if (!parallel) {
+                        ticked++;
+                        tick(entry);
+                    } else if (entry.running.compareAndSet(false, true)) {
+                        ticked++;
+                        try {
+                            scheduler.run(() -> {
+                                try {
+                                    tick(entry);
+                                } finally {
+                                    entry.running.set(false);
+                                }
+                            });
+                        } catch (Throwable e) {
+                            entry.running.set(false);
+                            logger.log(Level.SEVERE, "An error occurred while dispatching a gui tick: ", e);
+                        }
+                    }
+                }
+            }
+            lastTicked = ticked;
+        }
+
+        private void tick(@NonNull Entry entry) {
+            if (entry.stopped) {
+                return;
+            }
+            try {
+                entry.tickle.run();
+            } catch (Throwable e) {
+                logger.log(Level.SEVERE, "An error occurred while ticking a gui: ", e);
+            }
+        }
+    }
+
+    /**
+     * A registered tickle; stopping it removes it from its driver.
+     */
+    private static final class Entry implements Scheduler.Task {
+        @NonNull
+        private final Driver driver;
+        @NonNull
+        private final Runnable tickle;
+        private final long interval;
+        private final long phase;
+
+        /**
+         * The driver tick of the first run
+         */
+        private final long firstTick;
+        private volatile boolean stopped;
+
+        /**
+         * Whether a dispatched run of the tickle has not finished yet
+         */
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        Entry(@NonNull Driver driver, @NonNull Runnable tickle, long interval, long phase, long firstTick) {
+            this.driver = driver;
+            this.tickle = tickle;
+            this.interval = interval;
+            this.phase = phase;
+            this.firstTick = firstTick;
+        }
+
+        @Override
+        public void stop() {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            driver.unregister(this);
+        }
     }
 }
@@ -7,11 +7,13 @@ import org.bukkit.Bukkit;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.InventoryView;
 import org.jetbrains.annotations.NotNull;
 
 public class InventoryUtil {
     private static MethodHandle componentCreateChest;
     private static MethodHandle componentCreateType;
+    private static MethodHandle viewSetTitle;
 
     static {
         try {
@@ -19,6 +21,27 @@ public class InventoryUtil {
             componentCreateType = MethodHandles.lookup().unreflect(Bukkit.class.getDeclaredMethod("createInventory", InventoryHolder.class, InventoryType.class, AdventureUtil.componentClass));
         } catch (Exception ignored) {
         }
+        try {
+            viewSetTitle = MethodHandles.lookup().unreflect(InventoryView.class.getMethod("setTitle", String.class));
+        } catch (Exception ignored) {
+        }
+    }
+
+    /**
+     * Changes the title of an open inventory view without reopening it, on servers supporting it.
+     *
+     * @return true if the title was changed, false if the server does not support it
+     */
+    public static boolean setTitle(InventoryView view, Component title) {
+        if (viewSetTitle == null) {
+            return false;
+        }
+        try {
+            viewSetTitle.invoke(view, AdventureUtil.toLegacyString(title));
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
     }
 
     public static Inventory createInventory(InventoryHolder holder, InventoryType type, int size, Component title) {
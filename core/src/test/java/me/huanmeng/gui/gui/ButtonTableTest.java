@@ -0,0 +1,244 @@
+package me.huanmeng.gui.gui;
+
+import me.huanmeng.gui.gui.button.Button;
+import me.huanmeng.gui.gui.slot.PlayerSlot;
+import me.huanmeng.gui.gui.slot.Slot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Copy-on-write behaviour of {@link ButtonTable}.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+class ButtonTableTest {
+    private static final int[] LAYERS = {ButtonTable.LAYER_DEFAULT, ButtonTable.LAYER_ATTACHED, ButtonTable.LAYER_EDIT};
+
+    private static GuiButton button(int slot) {
+        Button button = player -> null;
+        return new GuiButton(Slot.of(slot), button);
+    }
+
+    private static GuiButton playerButton(int slot) {
+        Button button = player -> null;
+        return new GuiButton(PlayerSlot.of(slot), button);
+    }
+
+    private static ButtonTable template() {
+        ButtonTable table = new ButtonTable();
+        for (int layer : LAYERS) {
+            table.layer(layer).add(button(layer));
+            table.layer(layer).add(playerButton(layer));
+        }
+        return table;
+    }
+
+    @Test
+    void copySeesTheOriginalButtons() {
+        ButtonTable original = template();
+        ButtonTable copy = original.copy();
+        for (int layer : LAYERS) {
+            assertEquals(original.layer(layer), copy.layer(layer));
+            assertSame(original.get(false, layer), copy.get(false, layer));
+            assertSame(original.get(true, layer), copy.get(true, layer));
+        }
+    }
+
+    @Test
+    void addingToTheCopyLeavesTheOriginalUnchanged() {
+        for (int layer : LAYERS) {
+            ButtonTable original = template();
+            ButtonTable copy = original.copy();
+            GuiButton added = button(10);
+            GuiButton addedBottom = playerButton(10);
+            assertTrue(copy.layer(layer).add(added));
+            assertTrue(copy.layer(layer).add(addedBottom));
+
+            assertTrue(copy.layer(layer).contains(added));
+            assertSame(added, copy.get(false, 10));
+            assertSame(addedBottom, copy.get(true, 10));
+            assertFalse(original.layer(layer).contains(added));
+            assertEquals(2, original.layer(layer).size());
+            assertNull(original.get(false, 10));
+            assertNull(original.get(true, 10));
+        }
+    }
+
+    @Test
+    void addingToTheOriginalLeavesTheCopyUnchanged() {
+        for (int layer : LAYERS) {
+            ButtonTable original = template();
+            ButtonTable copy = original.copy();
+            GuiButton added = button(10);
+            assertTrue(original.layer(layer).add(added));
+
+            assertSame(added, original.get(false, 10));
+            assertFalse(copy.layer(layer).contains(added));
+            assertEquals(2, copy.layer(layer).size());
+            assertNull(copy.get(false, 10));
+        }
+    }
+
+    @Test
+    void removingFromEitherSideLeavesTheOtherUnchanged() {
+        for (int layer : LAYERS) {
+            ButtonTable original = template();
+            ButtonTable copy = original.copy();
+            GuiButton shared = original.get(false, layer);
+            assertTrue(copy.layer(layer).remove(shared));
+            assertFalse(copy.layer(layer).contains(shared));
+            assertTrue(original.layer(layer).contains(shared));
+            assertSame(shared, original.get(false, layer));
+
+            ButtonTable second = original.copy();
+            assertTrue(original.layer(layer).remove(shared));
+            assertFalse(original.layer(layer).contains(shared));
+            assertTrue(second.layer(layer).contains(shared));
+            assertSame(shared, second.get(false, layer));
+        }
+    }
+
+    @Test
+    void clearingEitherSideLeavesTheOtherUnchanged() {
+        for (int layer : LAYERS) {
+            ButtonTable original = template();
+            ButtonTable copy = original.copy();
+            copy.layer(layer).clear();
+            assertTrue(copy.layer(layer).isEmpty());
+            assertEquals(2, original.layer(layer).size());
+
+            ButtonTable second = original.copy();
+            original.layer(layer).clear();
+            assertTrue(original.layer(layer).isEmpty());
+            assertEquals(2, second.layer(layer).size());
+        }
+    }
+
+    @Test
+    void iteratorRemovalOnASharedLayerOnlyAffectsItsTable() {
+        for (int layer : LAYERS) {
+            ButtonTable original = template();
+            ButtonTable copy = original.copy();
+            Iterator<GuiButton> iterator = copy.layer(layer).iterator();
+            GuiButton removed = iterator.next();
+            iterator.remove();
+            // The rest of the iteration still works after the table got its private storage
+            GuiButton kept = iterator.next();
+            iterator.remove();
+            assertFalse(iterator.hasNext());
+
+            assertTrue(copy.layer(layer).isEmpty());
+            assertTrue(original.layer(layer).contains(removed));
+            assertTrue(original.layer(layer).contains(kept));
+            assertEquals(2, original.layer(layer).size());
+        }
+    }
+
+    @Test
+    void iteratorRemovalOnTheOriginalLeavesTheCopyUnchanged() {
+        for (int layer : LAYERS) {
+            ButtonTable original = template();
+            ButtonTable copy = original.copy();
+            Iterator<GuiButton> iterator = original.layer(layer).iterator();
+            GuiButton removed = iterator.next();
+            iterator.remove();
+
+            assertFalse(original.layer(layer).contains(removed));
+            assertTrue(copy.layer(layer).contains(removed));
+            assertEquals(2, copy.layer(layer).size());
+        }
+    }
+
+    @Test
+    void higherLayersStillWinAfterPrivatising() {
+        ButtonTable original = template();
+        ButtonTable copy = original.copy();
+        GuiButton edit = button(ButtonTable.LAYER_DEFAULT);
+        copy.layer(ButtonTable.LAYER_EDIT).add(edit);
+        assertSame(edit, copy.get(false, ButtonTable.LAYER_DEFAULT));
+        copy.layer(ButtonTable.LAYER_EDIT).remove(edit);
+        assertSame(original.get(false, ButtonTable.LAYER_DEFAULT), copy.get(false, ButtonTable.LAYER_DEFAULT));
+    }
+
+    @Test
+    void everyCopyOfATemplateIsIsolated() {
+        ButtonTable template = template();
+        ButtonTable first = template.copy();
+        ButtonTable second = template.copy();
+        ButtonTable nested = first.copy();
+
+        GuiButton added = button(20);
+        first.layer(ButtonTable.LAYER_DEFAULT).add(added);
+        assertTrue(first.layer(ButtonTable.LAYER_DEFAULT).contains(added));
+        assertFalse(template.layer(ButtonTable.LAYER_DEFAULT).contains(added));
+        assertFalse(second.layer(ButtonTable.LAYER_DEFAULT).contains(added));
+        assertFalse(nested.layer(ButtonTable.LAYER_DEFAULT).contains(added));
+
+        // The template is still shared with the other copies after one of them left
+        GuiButton templateOnly = button(21);
+        template.layer(ButtonTable.LAYER_DEFAULT).add(templateOnly);
+        assertFalse(second.layer(ButtonTable.LAYER_DEFAULT).contains(templateOnly));
+        assertFalse(nested.layer(ButtonTable.LAYER_DEFAULT).contains(templateOnly));
+
+        GuiButton secondOnly = button(22);
+        second.layer(ButtonTable.LAYER_DEFAULT).add(secondOnly);
+        assertFalse(template.layer(ButtonTable.LAYER_DEFAULT).contains(secondOnly));
+        assertFalse(nested.layer(ButtonTable.LAYER_DEFAULT).contains(secondOnly));
+    }
+
+    @Test
+    void concurrentCopiesOfATemplateAreIsolated() throws Exception {
+        ButtonTable template = template();
+        int threads = 8;
+        int copiesPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<ButtonTable>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<ButtonTable> copies = new ArrayList<>(copiesPerThread);
+                    for (int j = 0; j < copiesPerThread; j++) {
+                        copies.add(template.copy());
+                    }
+                    return copies;
+                }));
+            }
+            start.countDown();
+            List<ButtonTable> copies = new ArrayList<>();
+            for (Future<List<ButtonTable>> future : futures) {
+                copies.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+
+            // Every copy but one leaves the shared storage, the template must still be shared with the last one
+            GuiButton added = button(30);
+            for (int i = 0; i < copies.size() - 1; i++) {
+                copies.get(i).layer(ButtonTable.LAYER_DEFAULT).add(added);
+            }
+            template.layer(ButtonTable.LAYER_DEFAULT).add(button(31));
+            Set<GuiButton> last = copies.get(copies.size() - 1).layer(ButtonTable.LAYER_DEFAULT);
+            assertEquals(2, last.size());
+            assertEquals(3, template.layer(ButtonTable.LAYER_DEFAULT).size());
+            assertFalse(template.layer(ButtonTable.LAYER_DEFAULT).contains(added));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
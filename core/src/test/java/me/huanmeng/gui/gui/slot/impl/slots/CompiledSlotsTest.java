@@ -0,0 +1,114 @@
+package me.huanmeng.gui.gui.slot.impl.slots;
+
+import me.huanmeng.gui.gui.impl.GuiCustom;
+import me.huanmeng.gui.gui.slot.Slot;
+import me.huanmeng.gui.gui.slot.Slots;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Set operations of {@link CompiledSlots}.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+class CompiledSlotsTest {
+    static int[] indexes(Slot[] slots) {
+        return Arrays.stream(slots).mapToInt(Slot::getIndex).toArray();
+    }
+
+    @Test
+    void ofIgnoresNegativeAndDuplicateIndexes() {
+        CompiledSlots slots = CompiledSlots.of(5, -1, 3, 5);
+        assertArrayEquals(new int[]{3, 5}, slots.indexes());
+        assertEquals(2, slots.size());
+        assertFalse(slots.contains(-1));
+        assertSame(CompiledSlots.EMPTY, CompiledSlots.of(-1, -2));
+    }
+
+    @Test
+    void union() {
+        CompiledSlots a = CompiledSlots.of(0, 1, 2);
+        CompiledSlots b = CompiledSlots.of(2, 3);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, a.union(b).indexes());
+        assertArrayEquals(new int[]{0, 1, 2}, a.indexes());
+        assertSame(a, a.union(CompiledSlots.EMPTY));
+        assertEquals(b, CompiledSlots.EMPTY.union(b));
+    }
+
+    @Test
+    void intersect() {
+        CompiledSlots a = CompiledSlots.of(0, 1, 2);
+        assertArrayEquals(new int[]{1, 2}, a.intersect(CompiledSlots.of(1, 2, 3)).indexes());
+        assertSame(CompiledSlots.EMPTY, a.intersect(CompiledSlots.of(7, 8)));
+        assertSame(CompiledSlots.EMPTY, a.intersect(CompiledSlots.EMPTY));
+    }
+
+    @Test
+    void exclude() {
+        CompiledSlots a = CompiledSlots.range(0, 9);
+        assertArrayEquals(new int[]{0, 2, 3, 4, 5, 6, 7}, a.exclude(CompiledSlots.of(1, 8, 20)).indexes());
+        assertSame(a, a.exclude(CompiledSlots.of(9, 10)));
+        assertSame(CompiledSlots.EMPTY, a.exclude(CompiledSlots.range(0, 9)));
+    }
+
+    @Test
+    void shift() {
+        CompiledSlots a = CompiledSlots.of(0, 4, 8);
+        assertArrayEquals(new int[]{9, 13, 17}, a.shift(9).indexes());
+        assertArrayEquals(new int[]{0, 4}, a.shift(-4).indexes());
+        assertSame(a, a.shift(0));
+        assertSame(CompiledSlots.EMPTY, a.shift(-9));
+    }
+
+    @Test
+    void range() {
+        assertArrayEquals(new int[]{3, 4, 5}, CompiledSlots.range(3, 6).indexes());
+        assertArrayEquals(new int[]{0, 1}, CompiledSlots.range(-2, 2).indexes());
+        assertSame(CompiledSlots.EMPTY, CompiledSlots.range(4, 4));
+        assertSame(CompiledSlots.EMPTY, CompiledSlots.range(5, 2));
+    }
+
+    @Test
+    void fullIsCachedUpToADoubleChest() {
+        for (int size = 0; size <= 54; size++) {
+            CompiledSlots full = CompiledSlots.full(size);
+            assertSame(full, CompiledSlots.full(size));
+            assertEquals(CompiledSlots.range(0, size), full);
+        }
+        assertEquals(CompiledSlots.range(0, 63), CompiledSlots.full(63));
+    }
+
+    @Test
+    void slotsAreSortedAndCopiedForEveryCaller() {
+        GuiCustom gui = new GuiCustom().line(3);
+        CompiledSlots compiled = CompiledSlots.of(8, 0, 4);
+        Slot[] slots = compiled.slots(gui);
+        assertArrayEquals(new int[]{0, 4, 8}, indexes(slots));
+        assertSame(compiled, compiled.compile(gui));
+
+        slots[0] = Slot.of(20);
+        Slot[] again = compiled.slots(gui);
+        assertNotSame(slots, again);
+        assertArrayEquals(new int[]{0, 4, 8}, indexes(again));
+        assertSame(compiled.slots(), compiled.slots());
+    }
+
+    @Test
+    void fullSlotsOfAGuiAreCopied() {
+        GuiCustom gui = new GuiCustom().line(2);
+        Slot[] slots = Slots.full().slots(gui);
+        assertEquals(18, slots.length);
+        slots[0] = Slot.of(40);
+        assertEquals(0, Slots.full().slots(gui)[0].getIndex());
+        assertTrue(Slots.full().isSizeBound());
+    }
+}
@@ -0,0 +1,106 @@
+package me.huanmeng.gui.gui.slot.impl.slots;
+
+import me.huanmeng.gui.gui.AbstractGui;
+import me.huanmeng.gui.gui.impl.GuiCustom;
+import me.huanmeng.gui.gui.slot.Slot;
+import me.huanmeng.gui.gui.slot.Slots;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.huanmeng.gui.gui.slot.impl.slots.CompiledSlotsTest.indexes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resolution and per-size caching of {@link ExcludeSlots}.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+class ExcludeSlotsTest {
+    /**
+     * The first row of any GUI, counting how often it is resolved
+     */
+    private static final class FirstRow implements Slots {
+        private final AtomicInteger resolved = new AtomicInteger();
+        private final boolean sizeBound;
+
+        FirstRow(boolean sizeBound) {
+            this.sizeBound = sizeBound;
+        }
+
+        @Override
+        public <@NonNull G extends AbstractGui<@NonNull G>> @NonNull Slot[] slots(@NonNull G gui) {
+            resolved.incrementAndGet();
+            return CompiledSlots.range(0, Math.min(9, gui.size())).slots(gui);
+        }
+
+        @Override
+        public boolean isSizeBound() {
+            return sizeBound;
+        }
+    }
+
+    @Test
+    void excludesIndexes() {
+        GuiCustom gui = new GuiCustom().line(1);
+        assertArrayEquals(new int[]{0, 2, 3, 4, 5, 6, 7}, indexes(Slots.exclude(1, 8).slots(gui)));
+        assertArrayEquals(CompiledSlots.full(9).indexes(), indexes(Slots.exclude().slots(gui)));
+    }
+
+    @Test
+    void excludesSlots() {
+        GuiCustom gui = new GuiCustom().line(2);
+        ExcludeSlots slots = Slots.excludePattern(new String[]{"x       x", "xxxxxxxxx"}, 'x');
+        assertArrayEquals(CompiledSlots.range(1, 8).indexes(), indexes(slots.slots(gui)));
+        assertEquals(CompiledSlots.range(1, 8), slots.compile(gui));
+    }
+
+    @Test
+    void sizeBoundSlotsAreResolvedOncePerSize() {
+        FirstRow base = new FirstRow(true);
+        ExcludeSlots slots = new ExcludeSlots(base, new int[]{0});
+        assertTrue(slots.isSizeBound());
+        GuiCustom three = new GuiCustom().line(3);
+        GuiCustom six = new GuiCustom().line(6);
+
+        int[] expected = CompiledSlots.range(1, 9).indexes();
+        assertArrayEquals(expected, indexes(slots.slots(three)));
+        assertArrayEquals(expected, indexes(slots.slots(three)));
+        assertArrayEquals(expected, indexes(slots.slots(new GuiCustom().line(3))));
+        assertEquals(1, base.resolved.get());
+        assertArrayEquals(expected, indexes(slots.slots(six)));
+        assertEquals(2, base.resolved.get());
+    }
+
+    @Test
+    void cachedSlotsAreCopiedForEveryCaller() {
+        ExcludeSlots slots = new ExcludeSlots(new FirstRow(true), new int[]{0});
+        GuiCustom gui = new GuiCustom().line(3);
+        Slot[] first = slots.slots(gui);
+        first[0] = Slot.of(30);
+        assertArrayEquals(CompiledSlots.range(1, 9).indexes(), indexes(slots.slots(gui)));
+    }
+
+    @Test
+    void slotsDependingOnMoreThanTheSizeAreNotCached() {
+        FirstRow base = new FirstRow(false);
+        ExcludeSlots slots = new ExcludeSlots(base, new int[]{0});
+        assertFalse(slots.isSizeBound());
+        GuiCustom gui = new GuiCustom().line(3);
+        slots.slots(gui);
+        slots.slots(gui);
+        assertEquals(2, base.resolved.get());
+
+        FirstRow excluded = new FirstRow(false);
+        ExcludeSlots dynamicExclusion = new ExcludeSlots(Slots.full(), excluded);
+        assertFalse(dynamicExclusion.isSizeBound());
+        assertArrayEquals(CompiledSlots.range(9, 27).indexes(), indexes(dynamicExclusion.slots(gui)));
+        assertArrayEquals(CompiledSlots.range(9, 27).indexes(), indexes(dynamicExclusion.slots(gui)));
+        assertEquals(2, excluded.resolved.get());
+    }
+}
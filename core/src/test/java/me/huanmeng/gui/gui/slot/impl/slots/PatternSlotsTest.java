@@ -0,0 +1,120 @@
+package me.huanmeng.gui.gui.slot.impl.slots;
+
+import me.huanmeng.gui.gui.impl.GuiCustom;
+import me.huanmeng.gui.gui.slot.Slot;
+import me.huanmeng.gui.gui.slot.Slots;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.huanmeng.gui.gui.slot.impl.slots.CompiledSlotsTest.indexes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Parsing of {@link PatternSlots} and {@link PatternLineSlots}, checked against the row by row
+ * {@link Slot#ofBukkit(int, int)} walk they replaced.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+class PatternSlotsTest {
+    private static final String[] PATTERN = {
+            "aaaaaaaaa",
+            "a bb  x a",
+            "ax     ba",
+            "aaaaaaaaa"
+    };
+
+    /**
+     * The parsing before patterns were compiled
+     */
+    private static int[] walk(String[] pattern, char... chars) {
+        List<Slot> list = new ArrayList<>();
+        for (int row = 0; row < pattern.length; row++) {
+            String line = pattern[row];
+            for (int column = 0; column < line.length(); column++) {
+                for (char c : chars) {
+                    if (line.charAt(column) == c) {
+                        list.add(Slot.ofBukkit(row, column));
+                        break;
+                    }
+                }
+            }
+        }
+        return indexes(list.toArray(new Slot[0]));
+    }
+
+    @Test
+    void patternMatchesTheRowByRowWalk() {
+        GuiCustom gui = new GuiCustom().line(4);
+        for (char[] chars : new char[][]{{'a'}, {'b'}, {'x'}, {'b', 'x'}, {' '}, {'z'}}) {
+            PatternSlots slots = Slots.pattern(PATTERN, chars);
+            assertArrayEquals(walk(PATTERN, chars), indexes(slots.slots(gui)));
+            assertArrayEquals(walk(PATTERN, chars), indexes(slots.getSlots().slots(gui)));
+        }
+    }
+
+    @Test
+    void patternOverrideCharsMatchTheRowByRowWalk() {
+        PatternSlots slots = Slots.pattern(PATTERN, 'a');
+        GuiCustom gui = new GuiCustom().line(4);
+        assertArrayEquals(walk(PATTERN, 'x', 'b'), indexes(slots.getSlots('x', 'b').slots(gui)));
+        assertEquals(Slot.ofBukkit(1, 6).getIndex(), slots.first('x').getIndex());
+    }
+
+    @Test
+    void shorterLinesOnlySelectTheirOwnColumns() {
+        String[] pattern = {"x", "", "  x"};
+        GuiCustom gui = new GuiCustom().line(3);
+        assertArrayEquals(new int[]{0, 20}, indexes(Slots.pattern(pattern, 'x').slots(gui)));
+        assertArrayEquals(walk(pattern, 'x'), indexes(Slots.pattern(pattern, 'x').slots(gui)));
+    }
+
+    @Test
+    void patternIsParsedOnce() {
+        PatternSlots slots = Slots.pattern(PATTERN, 'b');
+        GuiCustom gui = new GuiCustom().line(4);
+        assertSame(slots.compile(), slots.compile(gui));
+        Slot[] first = slots.slots(gui);
+        first[0] = Slot.of(50);
+        assertArrayEquals(walk(PATTERN, 'b'), indexes(slots.slots(gui)));
+    }
+
+    @Test
+    void patternLineMatchesTheRowByRowWalkForEveryLineCount() {
+        for (int line = 1; line <= 6; line++) {
+            GuiCustom gui = new GuiCustom().line(line);
+            String[] pattern = Slots.GRID.patternFun().apply(line);
+            assertArrayEquals(walk(pattern, 'x'), indexes(Slots.GRID.slots(gui)));
+            assertArrayEquals(walk(pattern, 'x'), indexes(Slots.GRID.getSlots(line).slots(gui)));
+            assertArrayEquals(walk(pattern, 'a'), indexes(Slots.GRID.getSlots(line, 'a').slots(gui)));
+        }
+    }
+
+    @Test
+    void patternLineIsParsedOncePerLineCount() {
+        AtomicInteger calls = new AtomicInteger();
+        PatternLineSlots slots = Slots.patternLine(line -> {
+            calls.incrementAndGet();
+            String[] pattern = new String[line];
+            for (int i = 0; i < line; i++) {
+                pattern[i] = i == line - 1 ? "xxxxxxxxx" : "         ";
+            }
+            return pattern;
+        }, 'x');
+        GuiCustom three = new GuiCustom().line(3);
+        GuiCustom six = new GuiCustom().line(6);
+
+        assertArrayEquals(CompiledSlots.range(18, 27).indexes(), indexes(slots.slots(three)));
+        assertArrayEquals(CompiledSlots.range(45, 54).indexes(), indexes(slots.slots(six)));
+        Slot[] copy = slots.slots(three);
+        copy[0] = Slot.of(0);
+        assertArrayEquals(CompiledSlots.range(18, 27).indexes(), indexes(slots.slots(three)));
+        assertSame(slots.compile(3), slots.compile(three));
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,145 @@
+package me.huanmeng.gui.page;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Page retrieval and deduplication of {@link Pagination}.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+class PaginationTest {
+    private static List<String> letters() {
+        return new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E"));
+    }
+
+    @Test
+    void getElementsForCopiesThePage() {
+        List<String> content = letters();
+        Pagination<String> pagination = new Pagination<>(content, 2);
+        assertEquals(Arrays.asList("A", "B"), pagination.getElementsFor(1));
+        assertEquals(Arrays.asList("C", "D"), pagination.getElementsFor(2));
+        assertEquals(Collections.singletonList("E"), pagination.getElementsFor(3));
+        assertTrue(pagination.getElementsFor(0).isEmpty());
+        assertTrue(pagination.getElementsFor(4).isEmpty());
+
+        List<String> page = pagination.getElementsFor(1);
+        content.add(0, "Z");
+        page.add("kept");
+        assertEquals(Arrays.asList("A", "B", "kept"), page);
+        assertEquals(Arrays.asList("Z", "A", "B", "C", "D", "E"), content);
+    }
+
+    @Test
+    void viewElementsForReadsThroughToTheContent() {
+        List<String> content = letters();
+        Pagination<String> pagination = new Pagination<>(content, 2);
+        List<String> view = pagination.viewElementsFor(2);
+        assertEquals(Arrays.asList("C", "D"), view);
+        content.set(2, "c");
+        assertEquals(Arrays.asList("c", "D"), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add("X"));
+        assertTrue(pagination.viewElementsFor(0).isEmpty());
+        assertTrue(pagination.viewElementsFor(4).isEmpty());
+    }
+
+    @Test
+    void viewElementsForIsInvalidatedByStructuralChanges() {
+        List<String> content = letters();
+        Pagination<String> pagination = new Pagination<>(content, 2);
+        List<String> view = pagination.viewElementsFor(1);
+        content.add("F");
+        assertThrows(ConcurrentModificationException.class, () -> view.get(0));
+        assertEquals(Arrays.asList("A", "B"), pagination.viewElementsFor(1));
+    }
+
+    @Test
+    void printPageVisitsTheElementsOfThePage() {
+        Pagination<String> pagination = new Pagination<>(letters(), 2);
+        List<String> printed = new ArrayList<>();
+        pagination.printPage(3, printed::add);
+        pagination.printPage(9, printed::add);
+        assertEquals(Collections.singletonList("E"), printed);
+    }
+
+    @Test
+    void getElementsForBufferOnARandomAccessList() {
+        assertBufferedPages(new Pagination<>(letters(), 2));
+    }
+
+    @Test
+    void getElementsForBufferOnASequentialList() {
+        assertBufferedPages(new Pagination<>(new LinkedList<>(letters()), 2));
+    }
+
+    private static void assertBufferedPages(Pagination<String> pagination) {
+        List<String> buffer = new ArrayList<>(Collections.singletonList("kept"));
+        assertEquals(2, pagination.getElementsFor(2, buffer));
+        assertEquals(Arrays.asList("kept", "C", "D"), buffer);
+
+        buffer.clear();
+        assertEquals(1, pagination.getElementsFor(3, buffer));
+        assertEquals(Collections.singletonList("E"), buffer);
+
+        buffer.clear();
+        assertEquals(2, pagination.getElementsFor(1, buffer));
+        assertEquals(Arrays.asList("A", "B"), buffer);
+
+        buffer.clear();
+        assertEquals(0, pagination.getElementsFor(0, buffer));
+        assertEquals(0, pagination.getElementsFor(4, buffer));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void addElementSkipsDuplicates() {
+        Pagination<String> pagination = new Pagination<>(letters(), 2);
+        assertFalse(pagination.isHashedDedupe());
+        pagination.addElement("A");
+        pagination.addElement("F");
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E", "F"), pagination.getContent());
+    }
+
+    @Test
+    void hashedDedupeIndexesTheContent() {
+        Pagination<String> pagination = new Pagination<>(letters(), 2);
+        pagination.setHashedDedupe(true);
+        assertTrue(pagination.isHashedDedupe());
+        pagination.addElement("C");
+        pagination.addElement("F");
+        pagination.addElement("F");
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E", "F"), pagination.getContent());
+        assertEquals(3, pagination.getPages());
+
+        pagination.setHashedDedupe(false);
+        assertFalse(pagination.isHashedDedupe());
+        pagination.addElement("F");
+        assertEquals(6, pagination.getContent().size());
+    }
+
+    @Test
+    void hashedDedupeIsRebuiltBySetContent() {
+        Pagination<String> pagination = new Pagination<>(letters(), 2);
+        pagination.setHashedDedupe(true);
+        pagination.setContent(new ArrayList<>(Arrays.asList("X", "Y")));
+        assertTrue(pagination.isHashedDedupe());
+
+        pagination.addElement("X");
+        // Only in the replaced content
+        pagination.addElement("A");
+        assertEquals(Arrays.asList("X", "Y", "A"), pagination.getContent());
+        assertEquals(Collections.singletonList("A"), pagination.getElementsFor(2));
+    }
+}
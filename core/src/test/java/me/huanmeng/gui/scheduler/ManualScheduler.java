@@ -0,0 +1,102 @@
+package me.huanmeng.gui.scheduler;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A scheduler whose ticks are advanced by the test, running every task on the calling thread.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+public class ManualScheduler implements Scheduler {
+    private final List<ManualTask> tasks = new ArrayList<>();
+    private long tick;
+
+    /**
+     * Advances one tick, running the tasks due on it in the order they were scheduled.
+     */
+    public void tick() {
+        tick++;
+        for (ManualTask task : new ArrayList<>(tasks)) {
+            if (task.stopped || task.due != tick) {
+                continue;
+            }
+            if (task.period > 0) {
+                task.due += task.period;
+            } else {
+                task.stopped = true;
+                tasks.remove(task);
+            }
+            task.action.accept(task);
+        }
+    }
+
+    /**
+     * Advances several ticks.
+     *
+     * @param ticks the number of ticks
+     */
+    public void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Gets the tasks that were scheduled and neither ran once nor were stopped.
+     *
+     * @return the active task count
+     */
+    public int active() {
+        return tasks.size();
+    }
+
+    private ManualTask schedule(@NonNull Consumer<Task> action, long delay, long period) {
+        ManualTask task = new ManualTask(action, tick + Math.max(1, delay), period);
+        tasks.add(task);
+        return task;
+    }
+
+    @Override
+    public Task run(@NonNull Runnable runnable) {
+        return schedule(task -> runnable.run(), 0, 0);
+    }
+
+    @Override
+    public Task runRepeating(@NonNull Runnable runnable, long perTick, long timeTick) {
+        return schedule(task -> runnable.run(), perTick, timeTick);
+    }
+
+    @Override
+    public Task runRepeating(@NonNull Consumer<Task> consumer, long perTick, long timeTick) {
+        return schedule(consumer, perTick, timeTick);
+    }
+
+    @Override
+    public Task runLater(@NonNull Runnable runnable, long laterTick) {
+        return schedule(task -> runnable.run(), laterTick, 0);
+    }
+
+    private final class ManualTask implements Task {
+        private final Consumer<Task> action;
+        private final long period;
+        private long due;
+        private boolean stopped;
+
+        ManualTask(Consumer<Task> action, long due, long period) {
+            this.action = action;
+            this.due = due;
+            this.period = period;
+        }
+
+        @Override
+        public void stop() {
+            stopped = true;
+            tasks.remove(this);
+        }
+    }
+}
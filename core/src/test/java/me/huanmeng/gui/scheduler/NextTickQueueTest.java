@@ -0,0 +1,142 @@
+package me.huanmeng.gui.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deduplication and ordering of the actions deferred through {@link NextTickQueue}.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+class NextTickQueueTest {
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final List<String> ran = new ArrayList<>();
+    private ManualScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ManualScheduler();
+        Schedulers.setSync(scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        NextTickQueue.shutdown();
+    }
+
+    private Runnable record(String name) {
+        return () -> ran.add(name);
+    }
+
+    @Test
+    void actionsRunOnTheNextTickFromOneTask() {
+        NextTickQueue.submit(record("a"));
+        NextTickQueue.submit(record("b"));
+        assertEquals(2, NextTickQueue.pending());
+        assertEquals(1, scheduler.active());
+        assertTrue(ran.isEmpty());
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("a", "b"), ran);
+        assertEquals(0, NextTickQueue.pending());
+        assertEquals(0, scheduler.active());
+    }
+
+    @Test
+    void aLaterSubmissionOfTheSamePlayerAndKindReplacesTheEarlierOne() {
+        NextTickQueue.submit(alice, NextTickQueue.Kind.OPEN, record("open 1"));
+        NextTickQueue.submit(alice, NextTickQueue.Kind.OPEN, record("open 2"));
+        NextTickQueue.submit(alice, NextTickQueue.Kind.CLOSE, record("close"));
+        NextTickQueue.submit(bob, NextTickQueue.Kind.OPEN, record("bob open"));
+        assertEquals(3, NextTickQueue.pending());
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("open 2", "close", "bob open"), ran);
+    }
+
+    @Test
+    void theSurvivingActionRunsAtThePositionOfTheLatestSubmission() {
+        NextTickQueue.submit(alice, NextTickQueue.Kind.SYNC_INVENTORY, record("sync 1"));
+        NextTickQueue.submit(alice, NextTickQueue.Kind.CLOSE, record("close"));
+        NextTickQueue.submit(alice, NextTickQueue.Kind.SYNC_INVENTORY, record("sync 2"));
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("close", "sync 2"), ran);
+    }
+
+    @Test
+    void scopesAreComparedByIdentity() {
+        Object first = new String("gui");
+        Object second = new String("gui");
+        NextTickQueue.submit(alice, NextTickQueue.Kind.SYNC_INVENTORY, first, record("first 1"));
+        NextTickQueue.submit(alice, NextTickQueue.Kind.SYNC_INVENTORY, second, record("second"));
+        NextTickQueue.submit(alice, NextTickQueue.Kind.SYNC_INVENTORY, first, record("first 2"));
+        NextTickQueue.submit(alice, NextTickQueue.Kind.SYNC_INVENTORY, record("unscoped"));
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("second", "first 2", "unscoped"), ran);
+    }
+
+    @Test
+    void unkeyedActionsAreNeverDeduplicated() {
+        Runnable action = record("a");
+        NextTickQueue.submit(action);
+        NextTickQueue.submit(action);
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("a", "a"), ran);
+    }
+
+    @Test
+    void droppingAPlayerKeepsTheOthers() {
+        NextTickQueue.submit(alice, NextTickQueue.Kind.OPEN, record("alice"));
+        NextTickQueue.submit(bob, NextTickQueue.Kind.OPEN, record("bob"));
+        NextTickQueue.drop(alice);
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("bob"), ran);
+    }
+
+    @Test
+    void actionsSubmittedWhileDrainingRunOnTheFollowingTick() {
+        NextTickQueue.submit(alice, NextTickQueue.Kind.CLOSE, () -> {
+            ran.add("close");
+            NextTickQueue.submit(alice, NextTickQueue.Kind.OPEN, record("open"));
+        });
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("close"), ran);
+        assertEquals(1, NextTickQueue.pending());
+        scheduler.tick();
+        assertEquals(Arrays.asList("close", "open"), ran);
+    }
+
+    @Test
+    void shutdownCancelsThePendingDrain() {
+        NextTickQueue.submit(alice, NextTickQueue.Kind.OPEN, record("open"));
+        assertEquals(1, scheduler.active());
+
+        NextTickQueue.shutdown();
+        assertEquals(0, NextTickQueue.pending());
+        assertEquals(0, scheduler.active());
+        scheduler.tick();
+        assertTrue(ran.isEmpty());
+
+        // The next submission schedules a new drain
+        NextTickQueue.submit(alice, NextTickQueue.Kind.OPEN, record("reopen"));
+        assertEquals(1, scheduler.active());
+        scheduler.tick();
+        assertEquals(Arrays.asList("reopen"), ran);
+    }
+}
@@ -0,0 +1,199 @@
+package me.huanmeng.gui.tick;
+
+import me.huanmeng.gui.scheduler.ManualScheduler;
+import me.huanmeng.gui.scheduler.Scheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Buckets, phases and unregistering of the {@link TickManager} drivers.
+ *
+ * @author huanmeng_qwq
+ * @since 2026/10/18
+ */
+class TickManagerTest {
+    private ManualScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ManualScheduler();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TickManager.shutdown();
+    }
+
+    /**
+     * Records the driver ticks a tickle ran on
+     */
+    private static final class Recorder implements Runnable {
+        private final ManualTicks ticks;
+        private final List<Integer> ran = new ArrayList<>();
+
+        Recorder(ManualTicks ticks) {
+            this.ticks = ticks;
+        }
+
+        @Override
+        public void run() {
+            ran.add(ticks.now);
+        }
+    }
+
+    /**
+     * Counts the ticks advanced by a test
+     */
+    private static final class ManualTicks {
+        private final ManualScheduler scheduler;
+        private int now;
+
+        ManualTicks(ManualScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        void advance(int ticks) {
+            for (int i = 0; i < ticks; i++) {
+                now++;
+                scheduler.tick();
+            }
+        }
+    }
+
+    @Test
+    void theFirstRunComesAfterAFullInterval() {
+        ManualTicks ticks = new ManualTicks(scheduler);
+        ticks.advance(3);
+        Recorder recorder = new Recorder(ticks);
+        TickManager.tick(recorder, scheduler, 5);
+        ticks.advance(20);
+        assertEquals(Arrays.asList(8, 13, 18, 23), recorder.ran);
+    }
+
+    @Test
+    void tickleOfOneIntervalRunsEveryTick() {
+        ManualTicks ticks = new ManualTicks(scheduler);
+        Recorder recorder = new Recorder(ticks);
+        TickManager.tick(recorder, scheduler, 0);
+        ticks.advance(3);
+        assertEquals(Arrays.asList(1, 2, 3), recorder.ran);
+    }
+
+    @Test
+    void ticklesSharingAnIntervalAreSpreadAcrossItsPhases() {
+        ManualTicks ticks = new ManualTicks(scheduler);
+        List<Recorder> recorders = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Recorder recorder = new Recorder(ticks);
+            recorders.add(recorder);
+            TickManager.tick(recorder, scheduler, 4);
+        }
+        assertEquals(4, TickManager.registered());
+
+        ticks.advance(3);
+        for (int i = 0; i < 4; i++) {
+            ticks.advance(1);
+            assertEquals(1, TickManager.lastTicked());
+        }
+        ticks.advance(8);
+        for (Recorder recorder : recorders) {
+            int first = recorder.ran.get(0);
+            assertEquals(Arrays.asList(first, first + 4, first + 8), recorder.ran);
+        }
+        assertEquals(Arrays.asList(4, 8, 12), recorders.get(0).ran);
+        assertEquals(Arrays.asList(5, 9, 13), recorders.get(1).ran);
+        assertEquals(Arrays.asList(6, 10, 14), recorders.get(2).ran);
+        assertEquals(Arrays.asList(7, 11, 15), recorders.get(3).ran);
+    }
+
+    @Test
+    void ticklesOfDifferentIntervalsRunIndependently() {
+        ManualTicks ticks = new ManualTicks(scheduler);
+        Recorder two = new Recorder(ticks);
+        Recorder three = new Recorder(ticks);
+        TickManager.tick(two, scheduler, 2);
+        TickManager.tick(three, scheduler, 3);
+        ticks.advance(9);
+        assertEquals(Arrays.asList(2, 4, 6, 8), two.ran);
+        assertEquals(Arrays.asList(3, 6, 9), three.ran);
+        assertEquals(1, scheduler.active());
+    }
+
+    @Test
+    void stoppingATickleLeavesTheOthersOfItsPhase() {
+        ManualTicks ticks = new ManualTicks(scheduler);
+        // Interval 1 puts every tickle in the same phase
+        Recorder first = new Recorder(ticks);
+        Recorder second = new Recorder(ticks);
+        Recorder third = new Recorder(ticks);
+        TickManager.tick(first, scheduler, 1);
+        Scheduler.Task task = TickManager.tick(second, scheduler, 1);
+        TickManager.tick(third, scheduler, 1);
+        ticks.advance(1);
+
+        task.stop();
+        task.stop();
+        assertEquals(2, TickManager.registered());
+        ticks.advance(1);
+        assertEquals(Arrays.asList(1, 2), first.ran);
+        assertEquals(Arrays.asList(1), second.ran);
+        assertEquals(Arrays.asList(1, 2), third.ran);
+        assertEquals(2, TickManager.lastTicked());
+    }
+
+    @Test
+    void theDriverTaskStopsWithTheLastTickle() {
+        ManualTicks ticks = new ManualTicks(scheduler);
+        Scheduler.Task first = TickManager.tick(new Recorder(ticks), scheduler, 2);
+        Scheduler.Task second = TickManager.tick(new Recorder(ticks), scheduler, 3);
+        assertEquals(1, scheduler.active());
+        first.stop();
+        assertEquals(1, scheduler.active());
+        second.stop();
+        assertEquals(0, scheduler.active());
+        assertEquals(0, TickManager.registered());
+        assertEquals(0, TickManager.lastTicked());
+
+        // Registering again restarts the driver, phases start over
+        Recorder recorder = new Recorder(ticks);
+        TickManager.tick(recorder, scheduler, 2);
+        assertEquals(1, scheduler.active());
+        ticks.advance(4);
+        assertEquals(Arrays.asList(2, 4), recorder.ran);
+    }
+
+    @Test
+    void aTickleStoppingItselfDoesNotRunAgain() {
+        ManualTicks ticks = new ManualTicks(scheduler);
+        AtomicInteger runs = new AtomicInteger();
+        Scheduler.Task[] task = new Scheduler.Task[1];
+        task[0] = TickManager.tick(() -> {
+            if (runs.incrementAndGet() == 2) {
+                task[0].stop();
+            }
+        }, scheduler, 1);
+        ticks.advance(5);
+        assertEquals(2, runs.get());
+        assertEquals(0, scheduler.active());
+    }
+
+    @Test
+    void aFailingTickleDoesNotStopTheOthers() {
+        ManualTicks ticks = new ManualTicks(scheduler);
+        Recorder recorder = new Recorder(ticks);
+        TickManager.tick(() -> {
+            throw new IllegalStateException("expected by the test");
+        }, scheduler, 1);
+        TickManager.tick(recorder, scheduler, 1);
+        ticks.advance(2);
+        assertEquals(Arrays.asList(1, 2), recorder.ran);
+    }
+}
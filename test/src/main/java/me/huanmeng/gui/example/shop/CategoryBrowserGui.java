@@ -5,6 +5,7 @@ import me.huanmeng.gui.gui.HGui;
 import me.huanmeng.gui.gui.button.Button;
 import me.huanmeng.gui.gui.impl.GuiPage;
 import me.huanmeng.gui.gui.impl.page.PageSettings;
+import me.huanmeng.gui.gui.impl.page.PageSource;
 import me.huanmeng.gui.gui.slot.Slot;
 import me.huanmeng.gui.gui.slot.Slots;
 import me.huanmeng.gui.gui.slot.impl.slots.PatternSlots;
@@ -48,16 +49,6 @@ public class CategoryBrowserGui extends HGui {
         ShopManager shop = ShopManager.getInstance();
         List<ShopItem> items = shop.getItemsByCategory(category);
 
-        // Convert items to buttons
-        List<Button> itemButtons = new ArrayList<>();
-        for (ShopItem item : items) {
-            ItemStack displayItem = createItemDisplay(item);
-            itemButtons.add(Button.ofPlayerClick(displayItem, p -> {
-                // Navigate to item details (Level 3)
-                new ItemDetailGui(p, true, item).open();
-            }));
-        }
-
         // Define page slots (3 rows of items)
         Slots pageSlots = new PatternSlots(new String[]{
             "OOOOOOOOO",
@@ -67,8 +58,12 @@ public class CategoryBrowserGui extends HGui {
             "XXXXXXXXX"
         }, 'O');
 
-        // Create paginated GUI
-        GuiPage gui = new GuiPage(context.getPlayer(), itemButtons, pageSlots);
+        // Create paginated GUI, buttons are only built for the items of the visible page
+        GuiPage gui = new GuiPage(context.getPlayer(), PageSource.of(items), item ->
+                Button.ofPlayerClick(createItemDisplay(item), p -> {
+                    // Navigate to item details (Level 3)
+                    new ItemDetailGui(p, true, item).open();
+                }), pageSlots);
         gui.title("§6" + category.getDisplayName() + " §7(Page %page%/%maxPage%)");
 
         // Configure page navigation